@@ -7,5 +7,15 @@ import java.lang.annotation.*;
 @Documented
 @Inherited
 public @interface AccountLock { // @interface : 사용자가 커스텀해 사용할 수 있는 어노테이션
-    long tryLockTime() default 5000L;
+    // application.yml 의 account.lock.policies.<name> 으로 아래 값을 덮어쓸 수 있음, 비어 있으면 메소드 이름 사용
+    String name() default "";
+
+    // lock 취득을 기다리는 시간(ms)
+    long tryLockTime() default 1000L;
+
+    // lock 을 잡고 있을 수 있는 최대 시간(ms), 지나면 자동 해제
+    long leaseTime() default 5000L;
+
+    // true 면 lock 이 사용 중일 때 기다리지 않고 바로 실패
+    boolean failFast() default false;
 }
@@ -1,6 +1,15 @@
 package zerobase.account.aop;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.Collections;
+import java.util.List;
+
 public interface AccountLockIdInterface {
     String getAccountNumber();
 
+    // 여러 계좌를 함께 잠가야 하는 요청(이체)은 재정의, 요청 body 의 필드가 아님
+    @JsonIgnore
+    default List<String> getAccountNumbers() {
+        return Collections.singletonList(getAccountNumber());
+    }
 }
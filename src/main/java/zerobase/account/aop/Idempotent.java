@@ -0,0 +1,15 @@
+package zerobase.account.aop;
+
+import java.lang.annotation.*;
+
+/**
+ * Idempotency-Key 헤더가 있으면 처음 처리한 결과(성공 응답 또는 AccountException)를 redis 에 저장하고
+ * 같은 키로 다시 들어온 요청은 계좌 락이나 DB 를 거치지 않고 저장된 결과로 응답
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+    // 엔드포인트별로 키 공간을 나눔
+    String name();
+}
@@ -0,0 +1,29 @@
+package zerobase.account.aop;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class LockPolicy {
+    public static final LockPolicy DEFAULT = new LockPolicy(1000L, 5000L, false);
+
+    private final long tryLockTime;
+    private final long leaseTime;
+    private final boolean failFast;
+
+    public static LockPolicy from(AccountLock accountLock) {
+        return LockPolicy.builder()
+                .tryLockTime(accountLock.tryLockTime())
+                .leaseTime(accountLock.leaseTime())
+                .failFast(accountLock.failFast())
+                .build();
+    }
+
+    // fail fast 면 대기 없이 한 번만 시도
+    public long getWaitTime() {
+        return failFast ? 0L : tryLockTime;
+    }
+}
@@ -0,0 +1,38 @@
+package zerobase.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import zerobase.account.type.InjectionPhase;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트용 지연/장애 주입 설정 (운영에서는 꺼둠)
+ * account.fault-injection.rules.<엔드포인트 이름>.<단계>.delay-millis / failure-rate
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.fault-injection")
+public class FaultInjectionProperties {
+    private boolean enabled = false;
+
+    private Map<String, Map<InjectionPhase, Rule>> rules = new HashMap<>();
+
+    public Rule getRule(String endpoint, InjectionPhase phase) {
+        return rules.getOrDefault(endpoint, new EnumMap<>(InjectionPhase.class)).get(phase);
+    }
+
+    @Getter
+    @Setter
+    public static class Rule {
+        // 해당 단계에서 멈출 시간(ms)
+        private long delayMillis = 0L;
+        // 0.0 ~ 1.0 확률로 예외 발생
+        private double failureRate = 0.0;
+    }
+}
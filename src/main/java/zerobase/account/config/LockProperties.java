@@ -0,0 +1,59 @@
+package zerobase.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import zerobase.account.type.LockMode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.lock")
+public class LockProperties {
+    // REDIS : redisson 락만 사용
+    // HYBRID : 노드 내부 스트라이프 락을 먼저 잡은 스레드만 redisson 락 경쟁
+    // OPTIMISTIC : 락 없이 Account @Version 충돌 시 재시도
+    // PESSIMISTIC : 락 없이 트랜잭션 안에서 SELECT ... FOR UPDATE 로 계좌 조회
+    // LANE : 락 없이 계좌번호로 정해진 단일 스레드 lane 에서 순서대로 실행
+    private LockMode mode = LockMode.REDIS;
+
+    // 노드 내부 스트라이프 락 개수 (2의 거듭제곱으로 올림)
+    private int stripes = 256;
+
+    // OPTIMISTIC 모드에서 버전 충돌 시 최대 시도 횟수
+    private int optimisticMaxAttempts = 3;
+
+    // 핫 계좌 통계를 유지할 최대 계좌 수 (메모리 상한)
+    private int maxTrackedAccounts = 10000;
+
+    // 핫 계좌 통계 집계 구간(ms), 구간이 끝나면 통계를 비움
+    private long hotAccountWindowMillis = 60000L;
+
+    // @AccountLock(name) 별 대기/유지시간 덮어쓰기, 지정하지 않은 값은 어노테이션 값 사용
+    private Map<String, Policy> policies = new HashMap<>();
+
+    private Lane lane = new Lane();
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private Long tryLockTime;
+        private Long leaseTime;
+        private Boolean failFast;
+    }
+
+    @Getter
+    @Setter
+    public static class Lane {
+        // lane(단일 스레드) 개수
+        private int count = 16;
+        // lane 별 대기열 최대 길이, 넘으면 바로 실패
+        private int queueCapacity = 1000;
+        // 대기 + 실행 최대 시간(ms)
+        private long timeoutMillis = 10000L;
+    }
+}
@@ -14,7 +14,6 @@ import zerobase.account.service.AccountService;
 
 import javax.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -37,13 +36,7 @@ public class AccountController {
 
     @GetMapping("/account")
     public List<AccountInfo> getAccountsByUserId(@RequestParam("user_id") Long userId){
-        return accountService.getAccountsByUserId(userId)
-                    .stream().map(accountDto ->
-                            AccountInfo.builder()
-                                    .accountNumber(accountDto.getAccountNumber())
-                                    .balance(accountDto.getBalance())
-                                    .build())
-                    .collect(Collectors.toList());
+        return accountService.getAccountsByUserId(userId);
 
 
     }
@@ -0,0 +1,53 @@
+package zerobase.account.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import zerobase.account.dto.HotAccountInfo;
+import zerobase.account.dto.ShardedAccountInfo;
+import zerobase.account.service.AccountRollupService;
+import zerobase.account.service.AccountShardService;
+import zerobase.account.service.AccountLaneExecutor;
+import zerobase.account.service.LockMetrics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class LockAdminController {
+    private final LockMetrics lockMetrics;
+    private final AccountLaneExecutor accountLaneExecutor;
+    private final AccountShardService accountShardService;
+    private final AccountRollupService accountRollupService;
+
+    // 락 경합이 심한 계좌 확인 (집계 구간 : account.lock.hot-account-window-millis)
+    @GetMapping("/admin/locks/hot")
+    public List<HotAccountInfo> getHotAccounts(@RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return lockMetrics.getHotAccounts(limit);
+    }
+
+    // lane 모드에서 lane 별 대기열 길이
+    @GetMapping("/admin/lanes")
+    public List<Integer> getLaneQueueDepths() {
+        return accountLaneExecutor.getQueueDepths();
+    }
+
+    // 핫 계좌의 잔액을 count 개로 분할 (이미 분할된 계좌는 다시 분할)
+    @PostMapping("/admin/accounts/{accountNumber}/shards")
+    public ShardedAccountInfo shardAccount(@PathVariable String accountNumber,
+                                           @RequestParam(value = "count", defaultValue = "8") int count) {
+        return accountShardService.enable(accountNumber, count);
+    }
+
+    // 일별 집계 백필/보정 : 기간(from, to 포함)을 거래 테이블에서 다시 계산, 재계산한 일 수 반환
+    @PostMapping("/admin/rollups/rebuild")
+    public int rebuildRollups(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                              @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return accountRollupService.rebuild(from, to);
+    }
+}
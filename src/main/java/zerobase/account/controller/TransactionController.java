@@ -3,18 +3,40 @@ package zerobase.account.controller;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import zerobase.account.aop.AccountLock;
+import zerobase.account.aop.Idempotent;
 import zerobase.account.dto.CancelBalance;
+import zerobase.account.dto.DailySummary;
 import zerobase.account.dto.ErrorResponse;
+import zerobase.account.dto.HoldBalance;
+import zerobase.account.dto.PointInTimeBalance;
 import zerobase.account.dto.QueryTransactionResponse;
+import zerobase.account.dto.TransactionHistoryResponse;
+import zerobase.account.dto.Transfer;
 import zerobase.account.dto.UseBalance;
 import zerobase.account.exception.AccountException;
+import zerobase.account.service.AccountRollupService;
+import zerobase.account.service.FailedTransactionSink;
+import zerobase.account.service.TransactionExportService;
 import zerobase.account.service.TransactionService;
+import zerobase.account.type.ExportFormat;
+import zerobase.account.type.TransactionResultType;
+import zerobase.account.type.TransactionType;
 
 import javax.validation.Valid;
-import java.nio.channels.InterruptedByTimeoutException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static zerobase.account.type.TransactionType.CANCEL;
+import static zerobase.account.type.TransactionType.TRANSFER_OUT;
+import static zerobase.account.type.TransactionType.USE;
 
 @Slf4j
 @RestController
@@ -22,13 +44,15 @@ import java.nio.channels.InterruptedByTimeoutException;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final FailedTransactionSink failedTransactionSink;
+    private final TransactionExportService transactionExportService;
+    private final AccountRollupService accountRollupService;
 
     @PostMapping("/transaction/use")
-    @AccountLock
-    public UseBalance.Response useBalance(@Valid @RequestBody UseBalance.Request request)
-            throws InterruptedByTimeoutException {
+    @Idempotent(name = "use")
+    @AccountLock(name = "use")
+    public UseBalance.Response useBalance(@Valid @RequestBody UseBalance.Request request) {
         try {
-            Thread.sleep(3000L);
             return UseBalance.Response.from(
                     transactionService.useBalance(request.getUserId(),
                             request.getAccountNumber(), request.getAmount())
@@ -36,19 +60,19 @@ public class TransactionController {
         } catch (AccountException e) {
             log.error("Failed to use balance. ");
 
-            transactionService.saveFailedUseTransaction(
+            // 실패 기록은 비동기로 모아서 저장 -> 락을 잡은 채로 DB 를 기다리지 않음
+            failedTransactionSink.submit(USE,
                     request.getAccountNumber(),
                     request.getAmount()
             );
             throw e;
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
         }
 
     }
 
+    // 취소는 잔액을 늘리기만 하므로 계좌 락 없이 처리
     @PostMapping("/transaction/cancel")
-    @AccountLock
+    @Idempotent(name = "cancel")
     public CancelBalance.Response cancelBalance(@Valid @RequestBody CancelBalance.Request request) {
         {
             try {
@@ -59,7 +83,7 @@ public class TransactionController {
             } catch (AccountException e) {
                 log.error("Failed to use balance. ");
 
-                transactionService.saveFailedCancelTransaction(
+                failedTransactionSink.submit(CANCEL,
                         request.getAccountNumber(),
                         request.getAmount()
                 );
@@ -69,10 +93,110 @@ public class TransactionController {
         }
     }
 
+    // 출금/입금 계좌를 계좌번호 순서로 모두 잠근 뒤 한 트랜잭션으로 처리
+    @PostMapping("/transaction/transfer")
+    @Idempotent(name = "transfer")
+    @AccountLock(name = "transfer")
+    public Transfer.Response transfer(@Valid @RequestBody Transfer.Request request) {
+        try {
+            return Transfer.Response.from(
+                    transactionService.transfer(request.getUserId(),
+                            request.getFromAccountNumber(), request.getToAccountNumber(),
+                            request.getAmount()),
+                    request.getToAccountNumber()
+            );
+        } catch (AccountException e) {
+            log.error("Failed to transfer balance. ");
+
+            failedTransactionSink.submit(TRANSFER_OUT,
+                    request.getFromAccountNumber(),
+                    request.getAmount()
+            );
+            throw e;
+        }
+    }
+
+    // 잔액 예약 : 검증은 예약 시점에 한 번만
+    @PostMapping("/transaction/hold")
+    @Idempotent(name = "hold")
+    @AccountLock(name = "hold")
+    public HoldBalance.Response holdBalance(@Valid @RequestBody HoldBalance.Request request) {
+        return HoldBalance.Response.from(
+                transactionService.holdBalance(request.getUserId(),
+                        request.getAccountNumber(), request.getAmount())
+        );
+    }
+
+    // 예약 확정 : 예약 금액만 차감하므로 계좌 락 없이 처리
+    @PostMapping("/transaction/hold/{holdId}/capture")
+    @Idempotent(name = "capture")
+    public UseBalance.Response captureHold(@PathVariable String holdId,
+                                           @Valid @RequestBody HoldBalance.CompleteRequest request) {
+        return UseBalance.Response.from(
+                transactionService.captureHold(request.getUserId(), request.getAccountNumber(), holdId)
+        );
+    }
+
+    @PostMapping("/transaction/hold/{holdId}/release")
+    public HoldBalance.Response releaseHold(@PathVariable String holdId,
+                                            @Valid @RequestBody HoldBalance.CompleteRequest request) {
+        return HoldBalance.Response.from(
+                transactionService.releaseHold(request.getUserId(), request.getAccountNumber(), holdId)
+        );
+    }
+
     @GetMapping("/transaction/{transactionId}")
     public QueryTransactionResponse queryTransactions(@PathVariable String transactionId) {
 
         return QueryTransactionResponse.from(transactionService.queryTransaction(transactionId));
 
     }
+
+    // 계좌별 거래 내역 : 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistoryResponse getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "transaction_type", required = false) TransactionType transactionType,
+            @RequestParam(value = "transaction_result", required = false) TransactionResultType transactionResult,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return TransactionHistoryResponse.from(
+                transactionService.getTransactionHistory(accountNumber, transactionType, transactionResult, cursor, size));
+    }
+
+    // 거래 원장 내보내기 : 기간(from 이상 to 미만) 내 거래를 NDJSON / CSV 로 스트리밍
+    @GetMapping("/account/{accountNumber}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Long accountId = transactionExportService.getAccountId(accountNumber, from, to);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + accountNumber + "." + format.getExtension() + "\"")
+                .body(outputStream -> transactionExportService.export(
+                        accountId, accountNumber, from, to, format, outputStream));
+    }
+
+    // 일별 요약 : 기간(from, to 포함) 내 거래가 있는 날의 사용/취소 합계와 성공 비율
+    @GetMapping("/account/{accountNumber}/daily-summary")
+    public List<DailySummary> getDailySummaries(
+            @PathVariable String accountNumber,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return accountRollupService.getDailySummaries(accountNumber, from, to);
+    }
+
+    // 시점 잔액 : at 시점의 잔액 (at 이전 마지막 거래의 잔액 스냅샷)
+    @GetMapping("/account/{accountNumber}/balance")
+    public PointInTimeBalance getBalanceAt(
+            @PathVariable String accountNumber,
+            @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return transactionService.getBalanceAt(accountNumber, at);
+    }
 }
@@ -17,23 +17,43 @@ import java.time.LocalDateTime;
 @Entity
 public class Account extends BaseEntity {
 
-    @ManyToOne
+    // 대부분 소유자 id 만 필요 -> 프록시의 getId() 는 조회하지 않음
+    @ManyToOne(fetch = FetchType.LAZY)
     private AccountUser accountUser;
 
+    @Column(unique = true)
     private String accountNumber;
+    // 계좌번호를 만든 발급 순번 : Redis 카운터가 초기화되면 최대값 다음부터 다시 발급 (직접 넣은 계좌는 null)
+    private Long numberSequence;
     private Long balance;
 
+    // 예약(hold) 중인 금액, 사용 가능 잔액 = balance - heldAmount
+    @Builder.Default
+    @Column(nullable = false)
+    private Long heldAmount = 0L;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
     @Enumerated(EnumType.STRING) // 없으면 0,1,2 값으로 저장되어 실제 값을 알기 어려움
     private AccountStatus accountStatus;
 
+    @Version // 낙관적 락 : 변경 시 버전이 다르면 커밋 실패
+    private Long version;
+
+    // 분할 잔액 개수 (null : 분할하지 않은 계좌)
+    private Integer shardCount;
+
+    public Long getAvailableBalance() {
+        return balance - heldAmount;
+    }
+
+    // OPTIMISTIC/PESSIMISTIC 모드 차감 : 변경 감지로 UPDATE (@Version 증가)
     public void useBalance(Long amount) {
         balance -= amount;
     }
 
-    public void cancelBalance(Long amount) {
-        balance += amount;
+    public boolean isSharded() {
+        return shardCount != null && shardCount > 0;
     }
 }
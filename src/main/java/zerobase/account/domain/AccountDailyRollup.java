@@ -0,0 +1,36 @@
+package zerobase.account.domain;
+
+import lombok.*;
+import zerobase.account.type.TransactionResultType;
+import zerobase.account.type.TransactionType;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 계좌별 일별 거래 집계 : (계좌, 일자, 거래 종류, 거래 결과) 한 행
+ * 거래가 커밋된 뒤 별도 트랜잭션에서 건수/금액을 더함, 재집계는 AccountRollupService.rebuild
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        columnNames = {"account_id", "rollup_date", "transaction_type", "transaction_result_type"}))
+public class AccountDailyRollup extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+    @Enumerated(EnumType.STRING)
+    private TransactionResultType transactionResultType;
+
+    private Long transactionCount;
+    private Long totalAmount;
+}
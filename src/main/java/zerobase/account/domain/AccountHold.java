@@ -0,0 +1,33 @@
+package zerobase.account.domain;
+
+import lombok.*;
+import zerobase.account.type.HoldStatus;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 잔액 예약(hold) : 예약 금액은 Account.heldAmount 에 따로 모아두고 확정(capture) 시 잔액에서 차감
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+// 만료 sweep : HELD 상태에서 만료 시각이 지난 예약만 범위 조회
+@Table(indexes = @Index(name = "idx_account_hold_status_expires_at", columnList = "hold_status, expires_at"))
+public class AccountHold extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    @Column(unique = true)
+    private String holdId;
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    private HoldStatus holdStatus;
+
+    private LocalDateTime expiresAt;
+}
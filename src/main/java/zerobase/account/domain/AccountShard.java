@@ -0,0 +1,25 @@
+package zerobase.account.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * 분할 잔액 : 핫 계좌의 잔액을 여러 행으로 나눠 동시에 차감
+ * 계좌 잔액 = Account.balance + 모든 AccountShard.balance
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "slot"}))
+public class AccountShard extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private Integer slot;
+    private Long balance;
+}
@@ -11,6 +11,14 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+// 계좌별 거래 내역 keyset 페이지 조회 : (account_id, transacted_at, id) 순서로 바로 찾아감
+// 시점 잔액 : 성공 거래만 보므로 결과를 거래일시 앞에 둔 인덱스 (실패 거래가 많아도 건너뛰지 않음)
+// 일별 집계 재시도 : 집계되지 않은 거래를 오래된 순으로
+@Table(indexes = {
+        @Index(name = "idx_transaction_account_transacted_at", columnList = "account_id, transacted_at, id"),
+        @Index(name = "idx_transaction_account_result_transacted_at",
+                columnList = "account_id, transaction_result_type, transacted_at, id"),
+        @Index(name = "idx_transaction_rolled_up_transacted_at", columnList = "rolled_up, transacted_at")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,12 +31,25 @@ public class Transaction extends BaseEntity{
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResultType;
 
-    @ManyToOne
+    // 계좌가 필요한 조회는 repository 에서 fetch join / entity graph 로 지정
+    @ManyToOne(fetch = FetchType.LAZY)
     private Account account;
     private Long amount;
     private Long balanceSnapshot;
+    // 분할 잔액 계좌 거래 : slot 을 잠그지 않고 합계를 읽으므로 스냅샷이 다른 거래와 섞일 수 있음
+    private Boolean approximateSnapshot;
 
+    @Column(unique = true)
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    // 일별 집계에 반영되었는지 : 커밋 후 반영/재시도/재집계 중 먼저 표시한 쪽만 더함
+    @Builder.Default
+    private Boolean rolledUp = false;
+
+    // 취소 거래가 취소한 원거래, unique 라서 같은 거래는 한 번만 취소됨
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(unique = true)
+    private Transaction cancelledTransaction;
+
 }
@@ -0,0 +1,31 @@
+package zerobase.account.dto;
+
+import lombok.*;
+import zerobase.account.type.AccountStatus;
+
+/**
+ * 잔액 사용 검증용 : 사용자 기준으로 계좌를 left join 한 한 행
+ * 행이 없으면 사용자 없음, accountId 가 없으면 계좌 없음, userId != ownerId 이면 소유주 불일치
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountOwnerDto {
+    private Long userId;
+    private Long accountId;
+    private Long ownerId;
+    private AccountStatus accountStatus;
+    private Long balance;
+    private Long heldAmount;
+    private Integer shardCount;
+
+    public Long getAvailableBalance() {
+        return balance - heldAmount;
+    }
+
+    public boolean isSharded() {
+        return shardCount != null && shardCount > 0;
+    }
+}
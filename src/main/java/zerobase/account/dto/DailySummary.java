@@ -0,0 +1,23 @@
+package zerobase.account.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySummary {
+    private LocalDate date;
+    // 성공한 잔액 사용 / 사용 취소
+    private Long useCount;
+    private Long useAmount;
+    private Long cancelCount;
+    private Long cancelAmount;
+    // 모든 거래 종류의 성공/실패 건수와 성공 비율
+    private Long successCount;
+    private Long failureCount;
+    private Double successRatio;
+}
@@ -0,0 +1,64 @@
+package zerobase.account.dto;
+
+import lombok.*;
+import zerobase.account.aop.AccountLockIdInterface;
+import zerobase.account.type.HoldStatus;
+
+import javax.validation.constraints.*;
+import java.time.LocalDateTime;
+
+public class HoldBalance {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Request implements AccountLockIdInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        @NotNull
+        private Long amount;
+    }
+
+    // 확정/해제 : 예약한 사용자와 계좌가 맞는지 확인
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class CompleteRequest {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String holdId;
+        private HoldStatus holdStatus;
+        private Long amount;
+        private LocalDateTime expiresAt;
+
+        public static Response from(HoldDto holdDto) {
+            return Response.builder()
+                    .accountNumber(holdDto.getAccountNumber())
+                    .holdId(holdDto.getHoldId())
+                    .holdStatus(holdDto.getHoldStatus())
+                    .amount(holdDto.getAmount())
+                    .expiresAt(holdDto.getExpiresAt())
+                    .build();
+        }
+    }
+}
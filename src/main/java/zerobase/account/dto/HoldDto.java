@@ -0,0 +1,30 @@
+package zerobase.account.dto;
+
+import lombok.*;
+import zerobase.account.domain.AccountHold;
+import zerobase.account.type.HoldStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldDto {
+    private String accountNumber;
+    private String holdId;
+    private Long amount;
+    private HoldStatus holdStatus;
+    private LocalDateTime expiresAt;
+
+    public static HoldDto fromEntity(AccountHold accountHold) {
+        return HoldDto.builder()
+                .accountNumber(accountHold.getAccount().getAccountNumber())
+                .holdId(accountHold.getHoldId())
+                .amount(accountHold.getAmount())
+                .holdStatus(accountHold.getHoldStatus())
+                .expiresAt(accountHold.getExpiresAt())
+                .build();
+    }
+}
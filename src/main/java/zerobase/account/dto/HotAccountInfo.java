@@ -0,0 +1,17 @@
+package zerobase.account.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotAccountInfo {
+    private String accountNumber;
+    private long acquisitions;
+    private long failures;
+    private double totalWaitMillis;
+    private double maxWaitMillis;
+    private double avgHoldMillis;
+}
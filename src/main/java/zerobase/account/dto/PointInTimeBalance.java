@@ -0,0 +1,19 @@
+package zerobase.account.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PointInTimeBalance {
+    private String accountNumber;
+    private LocalDateTime at;
+    private Long balance;
+    // 잔액을 가져온 거래 (at 이전 거래가 없어 첫 거래 전 잔액을 계산한 경우 그 첫 거래)
+    private String transactionId;
+    private LocalDateTime transactedAt;
+}
@@ -0,0 +1,14 @@
+package zerobase.account.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardedAccountInfo {
+    private String accountNumber;
+    private Integer shardCount;
+    private Long balance;
+}
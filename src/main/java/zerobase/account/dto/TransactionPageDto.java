@@ -0,0 +1,16 @@
+package zerobase.account.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionPageDto {
+    private List<TransactionDto> transactions;
+    // 다음 페이지 조회용 커서 (마지막 페이지면 null)
+    private String nextCursor;
+}
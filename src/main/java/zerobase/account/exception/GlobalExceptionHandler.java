@@ -23,6 +23,7 @@ public class GlobalExceptionHandler {
     }
 
     // db unique key 중복
+    @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
         log.error("DataIntegrityViolationException is occurred", e);
         return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
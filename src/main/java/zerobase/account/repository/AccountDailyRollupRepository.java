@@ -0,0 +1,21 @@
+package zerobase.account.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import zerobase.account.domain.AccountDailyRollup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailyRollupRepository extends JpaRepository<AccountDailyRollup, Long> {
+
+    // 기간 내 일별 집계 (from, to 포함), 일자 순
+    @Query("select r from AccountDailyRollup r where r.account.id = :accountId " +
+            "and r.rollupDate between :from and :to order by r.rollupDate")
+    List<AccountDailyRollup> findDaily(@Param("accountId") Long accountId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+}
@@ -0,0 +1,50 @@
+package zerobase.account.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import zerobase.account.domain.AccountHold;
+import zerobase.account.type.HoldStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountHoldRepository extends JpaRepository<AccountHold, Long> {
+    // 응답에 계좌번호가 필요하므로 계좌를 같이 조회
+    @EntityGraph(attributePaths = "account")
+    Optional<AccountHold> findByHoldId(String holdId);
+
+    List<AccountHold> findByHoldStatus(HoldStatus holdStatus);
+
+    // 만료 시각이 지났는데 아직 HELD 인 예약 (timer 등록이 유실된 경우 sweep 으로 정리)
+    @Query("select h.holdId from AccountHold h " +
+            "where h.holdStatus = zerobase.account.type.HoldStatus.HELD and h.expiresAt <= :now " +
+            "order by h.expiresAt")
+    List<String> findExpiredHoldIds(@Param("now") LocalDateTime now,
+                                    Pageable pageable);
+
+    // 예약 상태 전이는 조건부 UPDATE 로 한 번만 성공 (확정/해제/만료가 겹쳐도 금액은 한 번만 반영)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountHold h set h.holdStatus = zerobase.account.type.HoldStatus.CAPTURED, h.updatedAt = :now " +
+            "where h.holdId = :holdId and h.holdStatus = zerobase.account.type.HoldStatus.HELD and h.expiresAt > :now")
+    int captureIfActive(@Param("holdId") String holdId,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountHold h set h.holdStatus = zerobase.account.type.HoldStatus.RELEASED, h.updatedAt = :now " +
+            "where h.holdId = :holdId and h.holdStatus = zerobase.account.type.HoldStatus.HELD")
+    int releaseIfHeld(@Param("holdId") String holdId,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountHold h set h.holdStatus = zerobase.account.type.HoldStatus.EXPIRED, h.updatedAt = :now " +
+            "where h.holdId = :holdId and h.holdStatus = zerobase.account.type.HoldStatus.HELD and h.expiresAt <= :now")
+    int expireIfDue(@Param("holdId") String holdId,
+                    @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,19 @@
 package zerobase.account.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import zerobase.account.domain.Account;
 import zerobase.account.domain.AccountUser;
+import zerobase.account.dto.AccountInfo;
+import zerobase.account.dto.AccountOwnerDto;
+import zerobase.account.type.AccountStatus;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +21,79 @@ import java.util.Optional;
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Integer countByAccountUser(AccountUser accountUser);
 
-    Integer countByAccountNumber(String accountNumber);
-
     Optional<Account> findByAccountNumber(String accountNumber);
 
-    List<Account> findByAccountUser(AccountUser accountUser);
+    // 계좌번호 발급 카운터 복구용 (Redis 카운터가 없을 때만 호출)
+    @Query("select max(a.numberSequence) from Account a")
+    Optional<Long> findMaxNumberSequence();
+
+    // 사용자/계좌/소유주를 한 번에 확인 : 사용자 기준 left join 이라 계좌가 없어도 사용자 행은 남음
+    @Query("select new zerobase.account.dto.AccountOwnerDto(u.id, a.id, a.accountUser.id, a.accountStatus, " +
+            "a.balance, a.heldAmount, a.shardCount) " +
+            "from AccountUser u left join Account a on a.accountNumber = :accountNumber " +
+            "where u.id = :userId")
+    Optional<AccountOwnerDto> findAccountOwner(@Param("userId") Long userId,
+                                               @Param("accountNumber") String accountNumber);
+
+    // SELECT ... FOR UPDATE : 트랜잭션이 끝날 때까지 다른 트랜잭션의 변경을 막음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    // 본인 계좌이고 상태가 맞고 사용 가능 잔액(잔액 - 예약 금액)이 충분할 때만 차감 -> 반영된 행 수(0 or 1)로 성공 여부 판단
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.accountNumber = :accountNumber and a.accountUser.id = :userId " +
+            "and a.accountStatus = :status and a.balance - a.heldAmount >= :amount")
+    int useBalanceIfEnough(@Param("userId") Long userId,
+                           @Param("accountNumber") String accountNumber,
+                           @Param("amount") Long amount,
+                           @Param("status") AccountStatus status,
+                           @Param("now") LocalDateTime now);
+
+    // 입금(취소)은 잔액을 줄이지 않으므로 검증 없이 원자적으로 증가
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.id = :id")
+    int addBalance(@Param("id") Long id,
+                   @Param("amount") Long amount,
+                   @Param("now") LocalDateTime now);
+
+    // 예약 : 차감과 같은 조건으로 예약 금액만 늘림
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.heldAmount = a.heldAmount + :amount, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.accountNumber = :accountNumber and a.accountUser.id = :userId " +
+            "and a.accountStatus = :status and a.balance - a.heldAmount >= :amount")
+    int holdBalanceIfEnough(@Param("userId") Long userId,
+                            @Param("accountNumber") String accountNumber,
+                            @Param("amount") Long amount,
+                            @Param("status") AccountStatus status,
+                            @Param("now") LocalDateTime now);
+
+    // 확정 : 예약해 둔 금액이라 잔액 검증 없이 잔액과 예약 금액을 함께 차감
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, a.heldAmount = a.heldAmount - :amount, " +
+            "a.version = a.version + 1, a.updatedAt = :now where a.id = :id")
+    int captureHeldBalance(@Param("id") Long id,
+                           @Param("amount") Long amount,
+                           @Param("now") LocalDateTime now);
+
+    // 해제/만료 : 예약 금액만 되돌림
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.heldAmount = a.heldAmount - :amount, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.id = :id")
+    int releaseHeldBalance(@Param("id") Long id,
+                           @Param("amount") Long amount,
+                           @Param("now") LocalDateTime now);
+
+    // 계좌 확인 응답에 필요한 계좌번호/잔액만 조회 (분할 잔액은 slot 합계를 더함) -> 엔티티를 영속성 컨텍스트에 올리지 않음
+    @Query("select new zerobase.account.dto.AccountInfo(a.accountNumber, a.balance + coalesce(sum(s.balance), 0)) " +
+            "from Account a left join AccountShard s on s.account = a " +
+            "where a.accountUser.id = :userId and a.accountStatus = :status " +
+            "group by a.id, a.accountNumber, a.balance order by a.id")
+    List<AccountInfo> findAccountInfos(@Param("userId") Long userId,
+                                       @Param("status") AccountStatus status);
+
+    @Query("select a.accountNumber from Account a where a.shardCount > 0")
+    List<String> findShardedAccountNumbers();
 }
@@ -0,0 +1,42 @@
+package zerobase.account.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import zerobase.account.domain.AccountShard;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AccountShardRepository extends JpaRepository<AccountShard, Long> {
+
+    // 재분배용 : 모든 분할 잔액을 slot 순서로 잠금 (항상 같은 순서라 교착 없음)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountShard s where s.account.id = :accountId order by s.slot")
+    List<AccountShard> findAllForUpdate(@Param("accountId") Long accountId);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountShard s where s.account.id = :accountId")
+    Long sumBalance(@Param("accountId") Long accountId);
+
+    // 한 slot 에서만 조건부 차감
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountShard s set s.balance = s.balance - :amount, s.updatedAt = :now " +
+            "where s.account.id = :accountId and s.slot = :slot and s.balance >= :amount")
+    int useBalanceIfEnough(@Param("accountId") Long accountId,
+                           @Param("slot") Integer slot,
+                           @Param("amount") Long amount,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountShard s set s.balance = s.balance + :amount, s.updatedAt = :now " +
+            "where s.account.id = :accountId and s.slot = :slot")
+    int addBalance(@Param("accountId") Long accountId,
+                   @Param("slot") Integer slot,
+                   @Param("amount") Long amount,
+                   @Param("now") LocalDateTime now);
+}
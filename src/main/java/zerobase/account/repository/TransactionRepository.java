@@ -1,10 +1,69 @@
 package zerobase.account.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import zerobase.account.domain.Transaction;
+import zerobase.account.dto.TransactionDto;
+import zerobase.account.type.TransactionResultType;
+import zerobase.account.type.TransactionType;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    // 거래 확인용 : 필요한 컬럼만 DTO 로 바로 조회 (계좌는 계좌번호만 join)
+    @Query("select new zerobase.account.dto.TransactionDto(a.accountNumber, t.transactionType, " +
+            "t.transactionResultType, t.amount, t.balanceSnapshot, t.transactionId, t.transactedAt) " +
+            "from Transaction t join t.account a where t.transactionId = :transactionId")
+    Optional<TransactionDto> findDtoByTransactionId(@Param("transactionId") String transactionId);
+
+    // cancelled_transaction_id unique 인덱스 조회 한 번으로 취소 여부 확인
+    boolean existsByCancelledTransaction(Transaction cancelledTransaction);
+
+    // 시점 잔액 : at 이전 마지막 성공 거래 (account_id, transaction_result_type, transacted_at, id) 인덱스를 역방향으로 한 번 탐색
+    @Query("select t from Transaction t where t.account.id = :accountId " +
+            "and t.transactionResultType = zerobase.account.type.TransactionResultType.S " +
+            "and t.transactedAt <= :at order by t.transactedAt desc, t.id desc")
+    List<Transaction> findSnapshotAtOrBefore(@Param("accountId") Long accountId,
+                                             @Param("at") LocalDateTime at,
+                                             Pageable pageable);
+
+    // at 이전 거래가 없을 때 : at 이후 첫 성공 거래로 그 전 잔액을 계산 (같은 인덱스를 정방향으로)
+    @Query("select t from Transaction t where t.account.id = :accountId " +
+            "and t.transactionResultType = zerobase.account.type.TransactionResultType.S " +
+            "and t.transactedAt > :at order by t.transactedAt, t.id")
+    List<Transaction> findSnapshotAfter(@Param("accountId") Long accountId,
+                                        @Param("at") LocalDateTime at,
+                                        Pageable pageable);
+
+    // 거래 내역 첫 페이지 (최신순), 종류/결과는 null 이면 전체, 응답의 계좌번호를 위해 계좌를 같이 조회
+    @EntityGraph(attributePaths = "account")
+    @Query("select t from Transaction t where t.account.id = :accountId " +
+            "and (:transactionType is null or t.transactionType = :transactionType) " +
+            "and (:transactionResultType is null or t.transactionResultType = :transactionResultType) " +
+            "order by t.transactedAt desc, t.id desc")
+    List<Transaction> findHistory(@Param("accountId") Long accountId,
+                                  @Param("transactionType") TransactionType transactionType,
+                                  @Param("transactionResultType") TransactionResultType transactionResultType,
+                                  Pageable pageable);
+
+    // 다음 페이지 : OFFSET 없이 직전 페이지 마지막 거래(transactedAt, id) 이후부터 조회
+    @EntityGraph(attributePaths = "account")
+    @Query("select t from Transaction t where t.account.id = :accountId " +
+            "and (t.transactedAt < :transactedAt or (t.transactedAt = :transactedAt and t.id < :id)) " +
+            "and (:transactionType is null or t.transactionType = :transactionType) " +
+            "and (:transactionResultType is null or t.transactionResultType = :transactionResultType) " +
+            "order by t.transactedAt desc, t.id desc")
+    List<Transaction> findHistoryBefore(@Param("accountId") Long accountId,
+                                        @Param("transactedAt") LocalDateTime transactedAt,
+                                        @Param("id") Long id,
+                                        @Param("transactionType") TransactionType transactionType,
+                                        @Param("transactionResultType") TransactionResultType transactionResultType,
+                                        Pageable pageable);
 }
@@ -0,0 +1,153 @@
+package zerobase.account.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import zerobase.account.config.LockProperties;
+import zerobase.account.exception.AccountException;
+import zerobase.account.type.ErrorCode;
+
+import javax.annotation.PreDestroy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 계좌번호를 해시해 고정된 개수의 단일 스레드 lane 중 하나에서 실행
+ * 같은 계좌의 변경은 항상 같은 lane 에서 순서대로 실행되므로 락을 잡을 필요가 없음
+ * 스레드는 처음 작업이 들어올 때 만들어짐
+ */
+@Slf4j
+@Component
+public class AccountLaneExecutor {
+    private final ThreadPoolExecutor[] lanes;
+    private final long timeoutMillis;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public AccountLaneExecutor(LockProperties lockProperties, MeterRegistry meterRegistry) {
+        LockProperties.Lane lane = lockProperties.getLane();
+        this.lanes = new ThreadPoolExecutor[lane.getCount()];
+        this.timeoutMillis = lane.getTimeoutMillis();
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "account-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(lane.getQueueCapacity()),
+                    runnable -> new Thread(runnable, threadName),
+                    new ThreadPoolExecutor.AbortPolicy());
+
+            BlockingQueue<Runnable> queue = lanes[i].getQueue();
+            Gauge.builder("account.lane.queue.depth", queue, BlockingQueue::size)
+                    .description("lane 대기열에 쌓인 작업 수")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.queueWaitTimer = Timer.builder("account.lane.wait")
+                .description("lane 대기열에서 실행되기까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("account.lane.rejected")
+                .description("대기열이 가득 차 거절된 작업 수")
+                .register(meterRegistry);
+    }
+
+    public Object execute(String accountNumber, LaneTask task) throws Throwable {
+        long submittedAt = System.nanoTime();
+        // 호출자가 포기한 작업과 lane 이 시작한 작업 중 먼저 표시한 쪽만 유효
+        AtomicBoolean started = new AtomicBoolean();
+        Future<Object> future;
+        try {
+            future = laneOf(accountNumber).submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return null;
+                }
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.run();
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new UndeclaredThrowableException(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Lane queue is full for accountNumber : {}", accountNumber);
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            return abandonOrAwait(accountNumber, future, started, false);
+        } catch (InterruptedException e) {
+            return abandonOrAwait(accountNumber, future, started, true);
+        }
+    }
+
+    // 아직 시작하지 않은 작업만 실행되지 않았다고 확정할 수 있음
+    // 이미 시작한 트랜잭션은 커밋될 수 있으므로 끝날 때까지 기다려 실제 결과를 돌려줌
+    private Object abandonOrAwait(String accountNumber, Future<Object> future,
+                                  AtomicBoolean started, boolean interrupted) throws Throwable {
+        if (started.compareAndSet(false, true)) {
+            future.cancel(false);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        log.warn("Lane task is still running after timeout for accountNumber : {}", accountNumber);
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public List<Integer> getQueueDepths() {
+        List<Integer> depths = new ArrayList<>(lanes.length);
+        for (ThreadPoolExecutor lane : lanes) {
+            depths.add(lane.getQueue().size());
+        }
+        return depths;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ThreadPoolExecutor laneOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        h ^= (h >>> 16);
+        return lanes[Math.floorMod(h, lanes.length)];
+    }
+
+    @FunctionalInterface
+    public interface LaneTask {
+        Object run() throws Throwable;
+    }
+}
@@ -0,0 +1,147 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.account.domain.Account;
+import zerobase.account.dto.AccountInfo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 사용자별 계좌 목록 캐시 (Redis)
+ * 계좌 생성/해지, 잔액 변경이 커밋된 후 해당 사용자 항목 삭제 -> 다음 조회에서 다시 채움
+ * 서버 간에 바로 보여야 하므로 로컬 캐시는 두지 않음, Redis 장애는 캐시 미스로 처리
+ * 사용자별 세대(generation) 번호 : 삭제할 때마다 증가, DB 조회 전에 읽은 세대가 그대로일 때만 저장
+ * -> 삭제 전에 읽은 이전 목록이 삭제 후에 저장되는 경합 방지
+ */
+@Slf4j
+@Component
+public class AccountListCache {
+    private static final String KEY_PREFIX = "ACCOUNTS:";
+    private static final String GENERATION_KEY_PREFIX = "ACCOUNTS:GEN:";
+    // 세대를 읽지 못하면 저장하지 않음
+    static final long UNKNOWN_GENERATION = -1L;
+
+    // KEYS[1] 목록, KEYS[2] 세대 / ARGV[1] 조회 전에 읽은 세대, ARGV[2] 목록, ARGV[3] ttl
+    static final String PUT_SCRIPT =
+            "if (redis.call('get', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('set', KEYS[1], ARGV[2], 'EX', ARGV[3]) " +
+            "return 1";
+    // 세대 증가 후 삭제 : 세대 키는 목록보다 오래 유지 (먼저 사라지면 0 부터 다시 세므로 이전 세대와 겹칠 수 있음)
+    static final String EVICT_SCRIPT =
+            "redis.call('incr', KEYS[2]) " +
+            "redis.call('expire', KEYS[2], ARGV[1]) " +
+            "redis.call('del', KEYS[1]) " +
+            "return 1";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final JavaType listType;
+    private final long ttlSeconds;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public AccountListCache(RedissonClient redissonClient,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${account.account-list-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.listType = objectMapper.getTypeFactory().constructCollectionType(List.class, AccountInfo.class);
+        this.ttlSeconds = ttlSeconds;
+        this.hitCounter = Counter.builder("account.account-list-cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("account.account-list-cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Optional<List<AccountInfo>> get(Long userId) {
+        try {
+            String stored = getBucket(userId).get();
+            if (stored == null) {
+                missCounter.increment();
+                return Optional.empty();
+            }
+            hitCounter.increment();
+            return Optional.of(objectMapper.readValue(stored, listType));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to read account list cache : {}", userId, e);
+            return Optional.empty();
+        }
+    }
+
+    // 캐시 미스 후 DB 조회 전에 읽음 -> put 에 그대로 전달
+    public long generation(Long userId) {
+        try {
+            String stored = redissonClient.<String>getBucket(generationKey(userId), StringCodec.INSTANCE).get();
+            return stored == null ? 0L : Long.parseLong(stored);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read account list cache generation : {}", userId, e);
+            return UNKNOWN_GENERATION;
+        }
+    }
+
+    // 조회 중에 삭제가 있었으면(세대가 바뀌었으면) 저장하지 않음
+    public void put(Long userId, long generation, List<AccountInfo> accounts) {
+        if (generation == UNKNOWN_GENERATION) {
+            return;
+        }
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, PUT_SCRIPT,
+                    RScript.ReturnType.BOOLEAN, keys(userId),
+                    String.valueOf(generation), objectMapper.writeValueAsString(accounts), String.valueOf(ttlSeconds));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to write account list cache : {}", userId, e);
+        }
+    }
+
+    public void evict(Long userId) {
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, EVICT_SCRIPT,
+                    RScript.ReturnType.BOOLEAN, keys(userId),
+                    String.valueOf(ttlSeconds * 2));
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict account list cache : {}", userId, e);
+        }
+    }
+
+    // 커밋 전에 삭제하면 다른 조회가 이전 값을 다시 채울 수 있으므로 커밋 후 삭제
+    public void evictAfterCommit(Long userId) {
+        AfterCommit.run(() -> evict(userId));
+    }
+
+    public void evictAfterCommit(Account account) {
+        evictAfterCommit(account.getAccountUser().getId());
+    }
+
+    private RBucket<String> getBucket(Long userId) {
+        return redissonClient.getBucket(listKey(userId), StringCodec.INSTANCE);
+    }
+
+    // 목록과 세대 키가 같은 slot 에 있어야 하나의 스크립트로 처리 가능 (hash tag)
+    static String listKey(Long userId) {
+        return KEY_PREFIX + "{" + userId + "}";
+    }
+
+    static String generationKey(Long userId) {
+        return GENERATION_KEY_PREFIX + "{" + userId + "}";
+    }
+
+    private static List<Object> keys(Long userId) {
+        return Arrays.asList(listKey(userId), generationKey(userId));
+    }
+}
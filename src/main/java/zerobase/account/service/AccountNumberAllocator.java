@@ -0,0 +1,147 @@
+package zerobase.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.account.repository.AccountRepository;
+
+/**
+ * 계좌번호 발급
+ * Redis 카운터에서 blockSize 만큼 구간을 예약해 두고 메모리에서 하나씩 꺼내 씀 -> 계좌 생성 시 중복 확인 쿼리 없음
+ * 순번(0 ~ 10^9-1)을 Feistel 치환으로 섞은 9자리 + Luhn 검증 숫자 1자리 = 10자리
+ * Redis flush/failover 로 카운터가 없어지면 계좌에 저장된 최대 순번 다음부터 다시 발급
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+    static final String SEQUENCE_KEY = "ACNO:SEQ";
+    static final long NUMBER_SPACE = 1_000_000_000L;
+
+    private static final int HALF_BITS = 15;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final RAtomicLong sequence;
+    private final AccountRepository accountRepository;
+    private final long blockSize;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    private long next;
+    private long blockEnd;
+
+    public AccountNumberAllocator(RedissonClient redissonClient,
+                                  AccountRepository accountRepository,
+                                  @Value("${account.account-number.block-size:1000}") long blockSize,
+                                  @Value("${account.account-number.permutation-key:20220601}") long permutationKey) {
+        this.sequence = redissonClient.getAtomicLong(SEQUENCE_KEY);
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+        long seed = permutationKey;
+        for (int i = 0; i < ROUNDS; i++) {
+            seed = mix(seed + i);
+            roundKeys[i] = seed;
+        }
+    }
+
+    public synchronized String next() {
+        if (next >= blockEnd) {
+            blockEnd = reserveBlock();
+            next = blockEnd - blockSize;
+        }
+        long seq = next++;
+        if (seq >= NUMBER_SPACE) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+
+        String body = String.format("%09d", permute(seq));
+        return body + checkDigit(body);
+    }
+
+    private long reserveBlock() {
+        if (!sequence.isExists()) {
+            long seed = accountRepository.findMaxNumberSequence().map(max -> max + 1).orElse(0L);
+            // 여러 서버가 동시에 복구해도 한 번만 반영 (없는 키는 0 으로 취급)
+            if (sequence.compareAndSet(0L, seed)) {
+                log.warn("Account number sequence was missing, restarted from {}", seed);
+            }
+        }
+        return sequence.addAndGet(blockSize);
+    }
+
+    // 계좌번호의 발급 순번 (permute 의 역함수), 발급기 형식이 아니면 null
+    public Long sequenceOf(String accountNumber) {
+        if (!isValid(accountNumber)) {
+            return null;
+        }
+        long x = Long.parseLong(accountNumber.substring(0, 9));
+        do {
+            x = feistelInverse(x);
+        } while (x >= NUMBER_SPACE);
+        return x;
+    }
+
+    // 2^30 범위 Feistel 치환을 10^9 안에 들어올 때까지 반복 적용 (cycle-walking) -> 10^9 범위의 일대일 대응
+    long permute(long value) {
+        long x = value;
+        do {
+            x = feistel(x);
+        } while (x >= NUMBER_SPACE);
+        return x;
+    }
+
+    private long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long tmp = right;
+            right = left ^ (mix(right ^ roundKey) & HALF_MASK);
+            left = tmp;
+        }
+        return left << HALF_BITS | right;
+    }
+
+    private long feistelInverse(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long tmp = left;
+            left = right ^ (mix(left ^ roundKeys[i]) & HALF_MASK);
+            right = tmp;
+        }
+        return left << HALF_BITS | right;
+    }
+
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Luhn : 오른쪽부터 검증 숫자 자리를 1번으로 보고 짝수 번째 자리를 2배
+    static int checkDigit(String body) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = body.length() - 1; i >= 0; i--) {
+            int digit = body.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || !accountNumber.matches("\\d{10}")) {
+            return false;
+        }
+        return checkDigit(accountNumber.substring(0, 9)) == accountNumber.charAt(9) - '0';
+    }
+}
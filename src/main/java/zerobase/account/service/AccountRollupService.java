@@ -0,0 +1,246 @@
+package zerobase.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.account.domain.AccountDailyRollup;
+import zerobase.account.domain.Transaction;
+import zerobase.account.dto.DailySummary;
+import zerobase.account.exception.AccountException;
+import zerobase.account.repository.AccountDailyRollupRepository;
+import zerobase.account.repository.AccountRepository;
+import zerobase.account.type.ErrorCode;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static zerobase.account.type.TransactionResultType.F;
+import static zerobase.account.type.TransactionResultType.S;
+import static zerobase.account.type.TransactionType.CANCEL;
+import static zerobase.account.type.TransactionType.USE;
+
+/**
+ * 계좌별 일별 거래 집계
+ * 거래가 커밋된 뒤 별도 트랜잭션에서 해당 (계좌, 일자, 종류, 결과) 행에 MERGE 한 번으로 건수/금액을 더함
+ * -> 거래 트랜잭션은 집계 행을 잠그지 않으므로 핫 계좌/분할 잔액 계좌도 집계 행에서 다시 줄 서지 않음
+ * 거래마다 집계 여부(rolled_up)를 표시해 커밋 후 반영/재시도/재집계(rebuild)가 겹쳐도 한 거래는 한 번만 더함
+ * 커밋 후 반영에 실패한 거래는 표시가 남지 않으므로 주기적으로 재시도, 명세/대시보드는 거래 수가 아니라 일 수만큼의 행만 읽음
+ */
+@Slf4j
+@Service
+public class AccountRollupService {
+    // UPDATE 후 INSERT 하는 방식은 PostgreSQL 에서 중복 키 오류가 트랜잭션 전체를 중단시키므로 한 문장으로 처리
+    private static final String MERGE_SQL =
+            "merge into account_daily_rollup r using (select cast(? as bigint) as account_id, " +
+                    "cast(? as date) as rollup_date, cast(? as varchar(255)) as transaction_type, " +
+                    "cast(? as varchar(255)) as transaction_result_type, cast(? as bigint) as transaction_count, " +
+                    "cast(? as bigint) as total_amount, cast(? as timestamp) as stamped_at) s " +
+                    "on (r.account_id = s.account_id and r.rollup_date = s.rollup_date " +
+                    "and r.transaction_type = s.transaction_type " +
+                    "and r.transaction_result_type = s.transaction_result_type) " +
+                    "when matched then update set transaction_count = r.transaction_count + s.transaction_count, " +
+                    "total_amount = r.total_amount + s.total_amount, updated_at = s.stamped_at " +
+                    "when not matched then insert (account_id, rollup_date, transaction_type, " +
+                    "transaction_result_type, transaction_count, total_amount, created_at, updated_at) " +
+                    "values (s.account_id, s.rollup_date, s.transaction_type, s.transaction_result_type, " +
+                    "s.transaction_count, s.total_amount, s.stamped_at, s.stamped_at)";
+    // 아직 집계되지 않은 거래 (IN 목록은 거래 아이디 개수만큼 채움)
+    private static final String SELECT_UNAPPLIED_SQL =
+            "select id, account_id, transacted_at, transaction_type, transaction_result_type, amount " +
+                    "from transaction where rolled_up = false and transaction_id in (%s)";
+    // 조건부 UPDATE : 재집계나 다른 재시도가 먼저 표시한 거래는 0 -> 한 거래는 한 번만 집계
+    private static final String MARK_ROLLED_UP_SQL =
+            "update transaction set rolled_up = true where id = ? and rolled_up = false";
+    private static final String SELECT_RETRY_SQL =
+            "select transaction_id from transaction where rolled_up = false and transacted_at < ? " +
+                    "order by transacted_at limit ?";
+    private static final String MARK_DAY_ROLLED_UP_SQL =
+            "update transaction set rolled_up = true " +
+                    "where transacted_at >= ? and transacted_at < ? and coalesce(rolled_up, false) = false";
+    private static final String DELETE_DAY_SQL =
+            "delete from account_daily_rollup where rollup_date = ?";
+    // 재집계가 표시한 거래와 재집계 전에 커밋 후 반영이 끝난 거래만 포함, 나머지는 각자의 커밋 후 반영이 더함
+    private static final String REBUILD_DAY_SQL =
+            "insert into account_daily_rollup (account_id, rollup_date, transaction_type, transaction_result_type, " +
+                    "transaction_count, total_amount, created_at, updated_at) " +
+                    "select t.account_id, cast(? as date), t.transaction_type, t.transaction_result_type, " +
+                    "count(*), sum(t.amount), cast(? as timestamp), cast(? as timestamp) " +
+                    "from transaction t where t.transacted_at >= ? and t.transacted_at < ? and t.rolled_up = true " +
+                    "group by t.account_id, t.transaction_type, t.transaction_result_type";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // 커밋 후 콜백에서는 원래 트랜잭션의 커넥션이 아직 묶여 있으므로 반드시 새 트랜잭션으로 실행
+    private final TransactionTemplate requiresNewTemplate;
+    private final AccountRepository accountRepository;
+    private final AccountDailyRollupRepository accountDailyRollupRepository;
+    private final int retryBatchSize;
+    private final long retryGraceSeconds;
+
+    public AccountRollupService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                AccountRepository accountRepository,
+                                AccountDailyRollupRepository accountDailyRollupRepository,
+                                @Value("${account.rollup.retry-batch-size:500}") int retryBatchSize,
+                                @Value("${account.rollup.retry-grace-seconds:60}") long retryGraceSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.accountRepository = accountRepository;
+        this.accountDailyRollupRepository = accountDailyRollupRepository;
+        this.retryBatchSize = retryBatchSize;
+        this.retryGraceSeconds = retryGraceSeconds;
+    }
+
+    // 거래 저장 직후 호출 : 거래가 커밋되면 반영, 롤백되면 반영하지 않음
+    public void record(Transaction transaction) {
+        recordAfterCommit(Collections.singletonList(transaction.getTransactionId()));
+    }
+
+    // 실패 거래 batch 저장용 : 같은 트랜잭션에서 저장한 거래 아이디를 커밋 후 한 번에 반영
+    public void recordAfterCommit(List<String> transactionIds) {
+        AfterCommit.run(() -> applyQuietly(transactionIds));
+    }
+
+    // 아직 집계되지 않은 거래만 (계좌, 일자, 종류, 결과)별로 모아 MERGE (별도 트랜잭션)
+    // 거래 표시와 MERGE 가 같은 트랜잭션 -> 실패하면 표시도 롤백되어 retryUnapplied 가 다시 반영
+    public void apply(List<String> transactionIds) {
+        try {
+            requiresNewTemplate.executeWithoutResult(status -> applyUnapplied(transactionIds));
+        } catch (DuplicateKeyException e) {
+            // 같은 날 첫 거래가 동시에 들어와 다른 트랜잭션이 먼저 행을 만든 경우 -> 새 트랜잭션에서 다시 MERGE 하면 그 행에 더함
+            requiresNewTemplate.executeWithoutResult(status -> applyUnapplied(transactionIds));
+        }
+    }
+
+    private void applyUnapplied(List<String> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(transactionIds.size(), "?"));
+        List<Map<String, Object>> unapplied = jdbcTemplate.queryForList(
+                String.format(SELECT_UNAPPLIED_SQL, placeholders), transactionIds.toArray());
+
+        Map<List<Object>, long[]> groups = new LinkedHashMap<>();
+        for (Map<String, Object> row : unapplied) {
+            if (jdbcTemplate.update(MARK_ROLLED_UP_SQL, row.get("id")) == 0) {
+                continue;
+            }
+            List<Object> key = Arrays.asList(row.get("account_id"),
+                    ((Timestamp) row.get("transacted_at")).toLocalDateTime().toLocalDate(),
+                    row.get("transaction_type"), row.get("transaction_result_type"));
+            long[] countAndAmount = groups.computeIfAbsent(key, k -> new long[2]);
+            countAndAmount[0]++;
+            countAndAmount[1] += ((Number) row.get("amount")).longValue();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        groups.forEach((key, countAndAmount) -> jdbcTemplate.update(MERGE_SQL,
+                key.get(0), Date.valueOf((LocalDate) key.get(1)), key.get(2), key.get(3),
+                countAndAmount[0], countAndAmount[1], now));
+    }
+
+    // 거래는 이미 커밋되었으므로 집계 실패가 요청을 실패시키지 않도록 기록만 남김 (retryUnapplied 가 다시 반영)
+    private void applyQuietly(List<String> transactionIds) {
+        try {
+            apply(transactionIds);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply daily rollup, will retry : {}", transactionIds, e);
+        }
+    }
+
+    // 커밋 후 반영에 실패한 거래 재시도, 진행 중인 커밋 후 반영과 겹치지 않도록 grace 이전 거래만
+    @Scheduled(fixedDelayString = "${account.rollup.retry-millis:60000}")
+    public void retryUnapplied() {
+        List<String> transactionIds = jdbcTemplate.queryForList(SELECT_RETRY_SQL, String.class,
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(retryGraceSeconds)), retryBatchSize);
+        if (!transactionIds.isEmpty()) {
+            applyQuietly(transactionIds);
+        }
+    }
+
+    // 백필/보정 : 기간(from, to 포함)의 집계를 거래 테이블에서 일자별로 다시 계산, 하루씩 별도 트랜잭션
+    // 그날 거래를 먼저 집계 완료로 표시 -> 표시 후에 커밋 후 반영이 같은 거래를 다시 더하지 않음
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            try {
+                rebuildDay(day);
+            } catch (DuplicateKeyException e) {
+                // 재집계 중 커밋 후 반영이 같은 집계 행을 먼저 만든 경우 -> 그날을 다시 계산
+                rebuildDay(day);
+            }
+            days++;
+        }
+        log.info("Rebuilt daily rollups : {} ~ {}", from, to);
+        return days;
+    }
+
+    private void rebuildDay(LocalDate rollupDate) {
+        Timestamp dayStart = Timestamp.valueOf(rollupDate.atStartOfDay());
+        Timestamp dayEnd = Timestamp.valueOf(rollupDate.plusDays(1).atStartOfDay());
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update(MARK_DAY_ROLLED_UP_SQL, dayStart, dayEnd);
+            jdbcTemplate.update(DELETE_DAY_SQL, Date.valueOf(rollupDate));
+            jdbcTemplate.update(REBUILD_DAY_SQL, Date.valueOf(rollupDate), now, now, dayStart, dayEnd);
+        });
+    }
+
+    // 기간(from, to 포함) 일별 요약, 거래가 없는 날은 제외
+    public List<DailySummary> getDailySummaries(String accountNumber, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        Long accountId = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND))
+                .getId();
+
+        Map<LocalDate, DailySummary> summaries = new TreeMap<>();
+        for (AccountDailyRollup rollup : accountDailyRollupRepository.findDaily(accountId, from, to)) {
+            DailySummary summary = summaries.computeIfAbsent(rollup.getRollupDate(), date -> DailySummary.builder()
+                    .date(date)
+                    .useCount(0L).useAmount(0L)
+                    .cancelCount(0L).cancelAmount(0L)
+                    .successCount(0L).failureCount(0L)
+                    .build());
+
+            if (rollup.getTransactionResultType() == S) {
+                summary.setSuccessCount(summary.getSuccessCount() + rollup.getTransactionCount());
+                if (rollup.getTransactionType() == USE) {
+                    summary.setUseCount(summary.getUseCount() + rollup.getTransactionCount());
+                    summary.setUseAmount(summary.getUseAmount() + rollup.getTotalAmount());
+                } else if (rollup.getTransactionType() == CANCEL) {
+                    summary.setCancelCount(summary.getCancelCount() + rollup.getTransactionCount());
+                    summary.setCancelAmount(summary.getCancelAmount() + rollup.getTotalAmount());
+                }
+            } else if (rollup.getTransactionResultType() == F) {
+                summary.setFailureCount(summary.getFailureCount() + rollup.getTransactionCount());
+            }
+        }
+
+        summaries.values().forEach(summary -> summary.setSuccessRatio(
+                (double) summary.getSuccessCount() / (summary.getSuccessCount() + summary.getFailureCount())));
+        return new ArrayList<>(summaries.values());
+    }
+}
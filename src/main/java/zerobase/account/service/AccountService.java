@@ -1,15 +1,18 @@
 package zerobase.account.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import zerobase.account.domain.Account;
 import zerobase.account.domain.AccountUser;
 import zerobase.account.dto.AccountDto;
+import zerobase.account.dto.AccountInfo;
 import zerobase.account.exception.AccountException;
 import zerobase.account.repository.AccountRepository;
 import zerobase.account.repository.AccountUserRepository;
 
-import org.apache.commons.lang3.RandomStringUtils;
 import zerobase.account.type.AccountStatus;
 import zerobase.account.type.ErrorCode;
 
@@ -19,45 +22,61 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static zerobase.account.type.AccountStatus.IN_USE;
 import static zerobase.account.type.ErrorCode.MAX_ACCOUNT_PER_USER_10;
 import static zerobase.account.type.ErrorCode.USER_NOT_FOUND;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+    // Redis 카운터가 초기화된 직후 이미 쓰인 번호가 나올 수 있음 -> 다음 번호로 재시도
+    private static final int CREATE_ACCOUNT_ATTEMPTS = 3;
+
     //    @Autowired : 예전에는 맍이썼지만 테스트할 때 의존성 담아주기 어려워서 생성자 삽입을 사용
 //    => @RequiredArgsConstructor사용 : final type 만 있는 생성자 만들어줌 => @RequiredArgsConstructor
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountShardService accountShardService;
+    private final AccountListCache accountListCache;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // 시도마다 새 트랜잭션 : 중복 번호로 실패한 트랜잭션은 롤백되고 새 번호로 다시 저장
     public AccountDto createAccount(Long userId, Long initialBalance) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertAccount(userId, initialBalance));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= CREATE_ACCOUNT_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Duplicate account number, retrying (attempt {})", attempt);
+            }
+        }
+    }
+
+    private AccountDto insertAccount(Long userId, Long initialBalance) {
         AccountUser accountUser = getAccountUser(userId);
 
         validateCreateAccount(accountUser);
 
-        // account id 랜덤 생성
-        String accountNumber = RandomStringUtils.random(10, false, true);
-
-        // 이미 있을경우 다시 랜덤 생성
-        while (accountRepository.countByAccountNumber(accountNumber) > 0) {
-            accountNumber = RandomStringUtils.random(10, false, true);
-        }
+        // 미리 예약한 번호 구간에서 발급 -> 중복 확인 쿼리 없음 (중복은 unique 제약으로 방지)
+        String accountNumber = accountNumberAllocator.next();
+        accountListCache.evictAfterCommit(userId);
 
+        // IDENTITY 키라 save 시점에 insert -> unique 제약 위반도 여기서 발생
         return AccountDto.fromEntity(
                 accountRepository.save(Account.builder()
                         .accountUser(accountUser)
                         .accountStatus(IN_USE)
                         .accountNumber(accountNumber)
+                        .numberSequence(accountNumberAllocator.sequenceOf(accountNumber))
                         .balance(initialBalance)
                         .registeredAt(LocalDateTime.now())
                         .build())
         );
-
-
     }
 
     private void validateCreateAccount(AccountUser accountUser) {
@@ -73,36 +92,51 @@ public class AccountService {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-        validateDeleteAccount(accountUser,account);
+        validateDeleteAccount(accountUser, account, getBalance(account));
 
         account.setAccountStatus(AccountStatus.UNREGISTERED);
         account.setUnRegisteredAt(LocalDateTime.now());
 
         accountRepository.save(account);
+        accountListCache.evictAfterCommit(userId);
 
         return AccountDto.fromEntity(account);
 
 
     }
 
-    private void validateDeleteAccount(AccountUser accountUser, Account account) {
+    private void validateDeleteAccount(AccountUser accountUser, Account account, Long balance) {
         if(!Objects.equals(accountUser.getId(), account.getAccountUser().getId())){
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
         }
         if(account.getAccountStatus() == AccountStatus.UNREGISTERED){
             throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
         }
-        if(account.getBalance()>0){
+        if(balance>0){
             throw new AccountException(ErrorCode.BALANCE_NOT_EMPTY);
         }
     }
 
-    public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = getAccountUser(userId);
-
-        List<Account> accounts = accountRepository.findByAccountUser(accountUser);
+    // 앱 첫 화면에서 자주 호출 -> 캐시에 있으면 DB 조회 없음
+    // 캐시에 없으면 사용 중인 계좌의 계좌번호/잔액만 응답 타입으로 바로 조회
+    // 세대는 DB 조회 전에 읽음 -> 조회 도중 삭제가 있었으면 이전 목록을 저장하지 않음
+    public List<AccountInfo> getAccountsByUserId(Long userId) {
+        return accountListCache.get(userId).orElseGet(() -> {
+            long generation = accountListCache.generation(userId);
+            if (!accountUserRepository.existsById(userId)) {
+                throw new AccountException(USER_NOT_FOUND);
+            }
+            List<AccountInfo> accounts = accountRepository.findAccountInfos(userId, IN_USE);
+            accountListCache.put(userId, generation, accounts);
+            return accounts;
+        });
+    }
 
-        return accounts.stream().map(AccountDto::fromEntity).collect(Collectors.toList());
+    // 분할 잔액 계좌는 모든 slot 합계
+    private Long getBalance(Account account) {
+        return account.isSharded()
+                ? accountShardService.getTotalBalance(account)
+                : account.getBalance();
     }
 
     private AccountUser getAccountUser(Long userId) {
@@ -0,0 +1,137 @@
+package zerobase.account.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import zerobase.account.domain.Account;
+import zerobase.account.domain.AccountShard;
+import zerobase.account.dto.ShardedAccountInfo;
+import zerobase.account.exception.AccountException;
+import zerobase.account.repository.AccountRepository;
+import zerobase.account.repository.AccountShardRepository;
+import zerobase.account.type.AccountStatus;
+import zerobase.account.type.ErrorCode;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 핫 계좌 분할 잔액
+ * 차감은 임의의 slot 부터 돌아가며 조건부 UPDATE, 모든 slot 이 부족하면 전체를 잠그고 재분배
+ * 분할된 계좌는 행 하나에 몰리지 않으므로 계좌 락 없이 처리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountShardService {
+    static final int MAX_SHARD_COUNT = 64;
+
+    private final AccountRepository accountRepository;
+    private final AccountShardRepository accountShardRepository;
+
+    // 분할된 계좌번호 (다른 서버에서 분할한 계좌는 주기적으로 다시 읽어옴)
+    private final Set<String> shardedAccounts = ConcurrentHashMap.newKeySet();
+
+    public boolean isSharded(String accountNumber) {
+        return shardedAccounts.contains(accountNumber);
+    }
+
+    @Scheduled(fixedDelayString = "${account.shard.refresh-millis:30000}")
+    public void refresh() {
+        List<String> accountNumbers = accountRepository.findShardedAccountNumbers();
+        shardedAccounts.retainAll(accountNumbers);
+        shardedAccounts.addAll(accountNumbers);
+    }
+
+    // 계좌 잔액을 shardCount 개로 나눔, 이미 분할된 계좌는 새 개수로 다시 나눔
+    @Transactional
+    public ShardedAccountInfo enable(String accountNumber, int shardCount) {
+        if (shardCount < 2 || shardCount > MAX_SHARD_COUNT) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        // 예약 금액은 계좌 행에만 있으므로 예약이 남아 있으면 분할하지 않음
+        if (account.getHeldAmount() > 0) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        List<AccountShard> existing = accountShardRepository.findAllForUpdate(account.getId());
+        long total = account.getBalance() + existing.stream().mapToLong(AccountShard::getBalance).sum();
+        accountShardRepository.deleteAllInBatch(existing);
+
+        List<AccountShard> shards = new ArrayList<>(shardCount);
+        for (int slot = 0; slot < shardCount; slot++) {
+            shards.add(AccountShard.builder()
+                    .account(account)
+                    .slot(slot)
+                    .balance(0L)
+                    .build());
+        }
+        distribute(shards, total);
+        accountShardRepository.saveAll(shards);
+
+        account.setBalance(0L);
+        account.setShardCount(shardCount);
+        shardedAccounts.add(accountNumber);
+        log.info("Sharded balance of {} into {} slots", accountNumber, shardCount);
+
+        return ShardedAccountInfo.builder()
+                .accountNumber(accountNumber)
+                .shardCount(shardCount)
+                .balance(total)
+                .build();
+    }
+
+    // 정확한 합계 : 한 번의 집계 쿼리로 모든 slot 을 더함
+    public Long getTotalBalance(Account account) {
+        return account.getBalance() + accountShardRepository.sumBalance(account.getId());
+    }
+
+    @Transactional
+    public void useBalance(Account account, Long amount) {
+        int shardCount = account.getShardCount();
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < shardCount; i++) {
+            if (accountShardRepository.useBalanceIfEnough(
+                    account.getId(), (start + i) % shardCount, amount, now) > 0) {
+                return;
+            }
+        }
+
+        // 한 slot 으로는 부족한 경우 : 전체를 잠그고 합계에서 차감한 뒤 고르게 재분배
+        List<AccountShard> shards = accountShardRepository.findAllForUpdate(account.getId());
+        long total = shards.stream().mapToLong(AccountShard::getBalance).sum();
+        if (total < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+        distribute(shards, total - amount);
+        log.info("Rebalanced {} slots of {}", shards.size(), account.getAccountNumber());
+    }
+
+    @Transactional
+    public void addBalance(Account account, Long amount) {
+        int slot = ThreadLocalRandom.current().nextInt(account.getShardCount());
+        if (accountShardRepository.addBalance(account.getId(), slot, amount, LocalDateTime.now()) == 0) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+    }
+
+    private static void distribute(List<AccountShard> shards, long total) {
+        long share = total / shards.size();
+        long remainder = total % shards.size();
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).setBalance(share + (i < remainder ? 1 : 0));
+        }
+    }
+}
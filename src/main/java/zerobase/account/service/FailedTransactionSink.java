@@ -0,0 +1,189 @@
+package zerobase.account.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.account.type.TransactionType;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static zerobase.account.type.TransactionResultType.F;
+
+/**
+ * 실패 거래 기록을 요청 스레드(계좌 락 안)에서 저장하지 않고 메모리 큐에 넣은 뒤
+ * 백그라운드 스레드가 모아서 JDBC batch insert 로 저장
+ * 큐가 가득 차면 기록을 버리고 account.failed-transaction.dropped 로 집계
+ */
+@Slf4j
+@Component
+public class FailedTransactionSink {
+    // 잔액 스냅샷은 저장 시점의 잔액, 계좌번호로 account 를 찾지 못하면 저장하지 않음
+    private static final String INSERT_SQL =
+            "insert into transaction (transaction_type, transaction_result_type, account_id, amount, " +
+                    "balance_snapshot, transaction_id, transacted_at, rolled_up, created_at, updated_at) " +
+                    "select ?, ?, a.id, ?, a.balance, ?, ?, false, ?, ? from account a where a.account_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionService transactionService;
+    private final AccountRollupService accountRollupService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final boolean asyncEnabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<FailedTransaction> queue;
+    private final Counter droppedCounter;
+    private final Counter writeFailedCounter;
+    private final Timer lagTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public FailedTransactionSink(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 TransactionService transactionService,
+                                 AccountRollupService accountRollupService,
+                                 TransactionIdGenerator transactionIdGenerator,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${account.failed-transaction.async-enabled:true}") boolean asyncEnabled,
+                                 @Value("${account.failed-transaction.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${account.failed-transaction.batch-size:500}") int batchSize,
+                                 @Value("${account.failed-transaction.flush-interval-millis:200}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionService = transactionService;
+        this.accountRollupService = accountRollupService;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.asyncEnabled = asyncEnabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("account.failed-transaction.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 실패 거래 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("account.failed-transaction.dropped")
+                .description("큐가 가득 차 버려진 실패 거래 수")
+                .register(meterRegistry);
+        this.writeFailedCounter = Counter.builder("account.failed-transaction.write.failed")
+                .description("batch insert 가 실패해 저장되지 않은 실패 거래 수")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("account.failed-transaction.lag")
+                .description("큐에 들어간 뒤 저장되기까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "failed-transaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void submit(TransactionType transactionType, String accountNumber, Long amount) {
+        if (!asyncEnabled) {
+            transactionService.saveFailedTransaction(transactionType, accountNumber, amount);
+            return;
+        }
+
+        FailedTransaction failedTransaction = new FailedTransaction(
+                transactionType, accountNumber, amount, LocalDateTime.now(), System.nanoTime());
+        if (!queue.offer(failedTransaction)) {
+            droppedCounter.increment();
+            log.warn("Failed transaction queue is full, dropped : {} {} {}",
+                    transactionType, accountNumber, amount);
+        }
+    }
+
+    // 종료 시 큐에 남은 기록을 모두 저장한 뒤 끝냄
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void drain() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FailedTransaction first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                writeFailedCounter.increment(batch.size());
+                log.error("Failed to write {} failed transactions", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<FailedTransaction> batch) {
+        List<String> transactionIds = batch.stream()
+                .map(failedTransaction -> transactionIdGenerator.generate())
+                .collect(Collectors.toList());
+        transactionTemplate.executeWithoutResult(status -> {
+            Iterator<String> transactionId = transactionIds.iterator();
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, failedTransaction) -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                ps.setString(1, failedTransaction.getTransactionType().name());
+                ps.setString(2, F.name());
+                ps.setLong(3, failedTransaction.getAmount());
+                ps.setString(4, transactionId.next());
+                ps.setTimestamp(5, Timestamp.valueOf(failedTransaction.getTransactedAt()));
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+                ps.setString(8, failedTransaction.getAccountNumber());
+            });
+            // 커밋 후 저장한 거래를 한 번에 일별 집계 반영 (계좌를 찾지 못해 저장되지 않은 거래는 건너뜀)
+            accountRollupService.recordAfterCommit(transactionIds);
+        });
+
+        long now = System.nanoTime();
+        batch.forEach(failedTransaction ->
+                lagTimer.record(now - failedTransaction.getEnqueuedAt(), TimeUnit.NANOSECONDS));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class FailedTransaction {
+        private final TransactionType transactionType;
+        private final String accountNumber;
+        private final Long amount;
+        private final LocalDateTime transactedAt;
+        private final long enqueuedAt;
+    }
+}
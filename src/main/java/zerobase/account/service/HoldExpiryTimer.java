@@ -0,0 +1,97 @@
+package zerobase.account.service;
+
+import io.netty.util.HashedWheelTimer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import zerobase.account.repository.AccountHoldRepository;
+import zerobase.account.type.HoldStatus;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 만료 : 테이블을 주기적으로 훑지 않고 예약마다 timer wheel 에 만료 시각을 등록
+ * 서버가 재시작되면 HELD 상태의 예약을 다시 등록 (만료는 조건부 UPDATE 라 여러 서버가 등록해도 한 번만 반영)
+ * 등록한 서버가 죽고 재시작되지 않으면 timer 가 사라지므로, 모든 서버가 드물게 만료된 HELD 예약을 sweep
+ * timer wheel 은 worker thread 하나라 DB 작업은 별도 executor 에서 실행 (느린 만료가 다음 tick 을 막지 않음)
+ */
+@Slf4j
+@Component
+public class HoldExpiryTimer {
+    private final TransactionService transactionService;
+    private final AccountHoldRepository accountHoldRepository;
+    private final HashedWheelTimer timer;
+    private final ExecutorService expiryExecutor;
+    private final int sweepBatchSize;
+
+    public HoldExpiryTimer(TransactionService transactionService,
+                           AccountHoldRepository accountHoldRepository,
+                           @Value("${account.hold.tick-millis:100}") long tickMillis,
+                           @Value("${account.hold.expiry-threads:2}") int expiryThreads,
+                           @Value("${account.hold.sweep-batch-size:500}") int sweepBatchSize) {
+        this.transactionService = transactionService;
+        this.accountHoldRepository = accountHoldRepository;
+        this.timer = new HashedWheelTimer(tickMillis, TimeUnit.MILLISECONDS, 512);
+        this.expiryExecutor = Executors.newFixedThreadPool(expiryThreads);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @TransactionalEventListener
+    public void onHoldReserved(HoldReservedEvent event) {
+        schedule(event.getHoldId(), event.getExpiresAt());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleActiveHolds() {
+        accountHoldRepository.findByHoldStatus(HoldStatus.HELD)
+                .forEach(hold -> schedule(hold.getHoldId(), hold.getExpiresAt()));
+    }
+
+    // timer 를 등록한 서버가 사라진 예약 정리 : 한 번에 batch 만큼, 오래된 만료부터
+    @Scheduled(fixedDelayString = "${account.hold.sweep-millis:60000}")
+    public void sweepExpiredHolds() {
+        accountHoldRepository.findExpiredHoldIds(LocalDateTime.now(), PageRequest.of(0, sweepBatchSize))
+                .forEach(this::submit);
+    }
+
+    void schedule(String holdId, LocalDateTime expiresAt) {
+        long delayMillis = Math.max(0L, Duration.between(LocalDateTime.now(), expiresAt).toMillis());
+        timer.newTimeout(timeout -> submit(holdId), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void submit(String holdId) {
+        try {
+            expiryExecutor.execute(() -> expire(holdId));
+        } catch (RejectedExecutionException e) {
+            // 종료 중 : 남은 예약은 다른 서버의 sweep 이나 재시작 시 다시 등록
+            log.warn("Hold expiry skipped on shutdown : {}", holdId);
+        }
+    }
+
+    private void expire(String holdId) {
+        try {
+            transactionService.expireHold(holdId);
+        } catch (RuntimeException e) {
+            // DB 오류 등으로 실패하면 잠시 뒤 다시 시도
+            log.error("Failed to expire hold : {}", holdId, e);
+            timer.newTimeout(timeout -> submit(holdId), 1, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.stop();
+        expiryExecutor.shutdown();
+    }
+}
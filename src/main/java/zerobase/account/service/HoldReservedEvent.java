@@ -0,0 +1,14 @@
+package zerobase.account.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 예약이 커밋된 뒤 만료 타이머 등록
+@Getter
+@AllArgsConstructor
+public class HoldReservedEvent {
+    private final String holdId;
+    private final LocalDateTime expiresAt;
+}
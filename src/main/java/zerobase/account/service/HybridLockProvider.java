@@ -0,0 +1,56 @@
+package zerobase.account.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.exception.AccountException;
+import zerobase.account.type.ErrorCode;
+import zerobase.account.type.LockMode;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HybridLockProvider implements LockProvider {
+    private final LocalStripedLock localStripedLock;
+    private final RedissonLockProvider redissonLockProvider;
+
+    @Override
+    public LockMode getMode() {
+        return LockMode.HYBRID;
+    }
+
+    @Override
+    public void lock(String accountNumber, LockPolicy lockPolicy) {
+        long deadline = System.currentTimeMillis() + lockPolicy.getWaitTime();
+        try {
+            // 노드 내부 락을 먼저 취득 -> 같은 노드의 다른 스레드는 redis 까지 가지 않고 여기서 대기
+            if (!localStripedLock.tryLock(accountNumber, lockPolicy.getWaitTime(), TimeUnit.MILLISECONDS)) {
+                log.debug("Local lock acquisition failed for accountNumber : {}", accountNumber);
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+
+        // 로컬 락 대기시간을 포함해 전체 대기시간은 그대로 유지
+        long waitTime = Math.max(0L, deadline - System.currentTimeMillis());
+        if (!redissonLockProvider.tryLock(accountNumber, waitTime, lockPolicy.getLeaseTime())) {
+            localStripedLock.unlock(accountNumber);
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        try {
+            redissonLockProvider.unlock(accountNumber);
+        } finally {
+            // redis 락을 먼저 풀고 로컬 락을 풀어야 다음 스레드가 바로 redis 락을 잡을 수 있음
+            localStripedLock.unlock(accountNumber);
+        }
+    }
+}
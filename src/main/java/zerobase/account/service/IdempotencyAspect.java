@@ -0,0 +1,66 @@
+package zerobase.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import zerobase.account.aop.Idempotent;
+import zerobase.account.exception.AccountException;
+
+import java.util.Optional;
+
+/**
+ * LockAopAspect 보다 먼저 실행되어 중복 요청은 계좌 락을 잡지 않음
+ */
+@Aspect
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final IdempotencyService idempotencyService;
+
+    @Around("@annotation(idempotent)")
+    public Object aroundMethod(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        String idempotencyKey = getIdempotencyKey();
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return joinPoint.proceed();
+        }
+
+        String key = idempotent.name() + ":" + idempotencyKey;
+        // 키를 요청 내용(사용자 아이디 포함)에 묶어 다른 요청에 같은 키를 쓰면 거절
+        String requestHash = idempotencyService.hash(joinPoint.getArgs());
+        Class<?> responseType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        Optional<?> stored = idempotencyService.begin(key, requestHash, responseType);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        try {
+            Object response = joinPoint.proceed();
+            idempotencyService.complete(key, requestHash, response);
+            return response;
+        } catch (AccountException e) {
+            idempotencyService.fail(key, requestHash, e.getErrorCode());
+            throw e;
+        } catch (Throwable e) {
+            idempotencyService.release(key);
+            throw e;
+        }
+    }
+
+    private String getIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        return ((ServletRequestAttributes) attributes).getRequest().getHeader(IDEMPOTENCY_KEY_HEADER);
+    }
+}
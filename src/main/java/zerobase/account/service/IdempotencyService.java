@@ -0,0 +1,159 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import zerobase.account.exception.AccountException;
+import zerobase.account.type.ErrorCode;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class IdempotencyService {
+    private static final Set<ErrorCode> TRANSIENT_ERRORS =
+            EnumSet.of(ErrorCode.ACCOUNT_TRANSACTION_LOCK, ErrorCode.INTERNAL_SERVER_ERROR);
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+    private final long inProgressTtlSeconds;
+
+    public IdempotencyService(RedissonClient redissonClient,
+                              ObjectMapper objectMapper,
+                              @Value("${account.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${account.idempotency.in-progress-ttl-seconds:30}") long inProgressTtlSeconds) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+        this.inProgressTtlSeconds = inProgressTtlSeconds;
+    }
+
+    /**
+     * 처음 들어온 키면 처리 중으로 표시하고 빈 값을 반환
+     * 이미 처리된 키면 저장된 응답을 반환하거나 저장된 에러를 다시 던짐
+     * 같은 키로 다른 요청(requestHash 가 다름)이 오면 재생하지 않고 IDEMPOTENCY_KEY_REUSED
+     */
+    public <T> Optional<T> begin(String key, String requestHash, Class<T> responseType) {
+        RBucket<String> bucket = getBucket(key);
+        // 처리 중 표시는 짧게 유지 : 처리하던 노드가 죽어도 재시도가 오래 막히지 않도록
+        if (bucket.trySet(write(IdempotencyRecord.inProgress(requestHash)), inProgressTtlSeconds, TimeUnit.SECONDS)) {
+            return Optional.empty();
+        }
+
+        String stored = bucket.get();
+        IdempotencyRecord record = stored == null ? IdempotencyRecord.inProgress(requestHash) : read(stored);
+        // 지문 없이 저장된 기록(배포 전 기록)은 그대로 재생
+        if (record.getRequestHash() != null && !Objects.equals(record.getRequestHash(), requestHash)) {
+            throw new AccountException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        if (!record.isCompleted()) {
+            throw new AccountException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+        if (record.getErrorCode() != null) {
+            throw new AccountException(record.getErrorCode());
+        }
+
+        log.debug("Replay idempotent response for key : {}", key);
+        try {
+            return Optional.of(objectMapper.readValue(record.getResponse(), responseType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid idempotent response for key " + key, e);
+        }
+    }
+
+    public void complete(String key, String requestHash, Object response) {
+        try {
+            save(key, IdempotencyRecord.builder()
+                    .completed(true)
+                    .requestHash(requestHash)
+                    .response(objectMapper.writeValueAsString(response))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent response for key " + key, e);
+        }
+    }
+
+    // 검증/잔액 오류처럼 다시 보내도 같은 결과인 실패만 저장
+    // TRANSIENT_ERRORS (ACCOUNT_TRANSACTION_LOCK : 락 경합/lane 대기열 초과/lane 타임아웃, INTERNAL_SERVER_ERROR)
+    // 는 재시도하면 성공할 수 있으므로 키를 풀어줌
+    public void fail(String key, String requestHash, ErrorCode errorCode) {
+        if (TRANSIENT_ERRORS.contains(errorCode)) {
+            release(key);
+            return;
+        }
+        save(key, IdempotencyRecord.builder()
+                .completed(true)
+                .requestHash(requestHash)
+                .errorCode(errorCode)
+                .build());
+    }
+
+    // 결과를 확정할 수 없는 실패(예상치 못한 예외)는 저장하지 않고 재시도를 허용
+    public void release(String key) {
+        getBucket(key).delete();
+    }
+
+    // 요청 지문 : 메소드 인자(경로 변수 + 사용자 아이디가 들어 있는 요청 본문)를 JSON 으로 직렬화한 값의 SHA-256
+    public String hash(Object... args) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(args));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash idempotent request", e);
+        }
+    }
+
+    private void save(String key, IdempotencyRecord record) {
+        getBucket(key).set(write(record), ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    private RBucket<String> getBucket(String key) {
+        return redissonClient.getBucket("IDEM:" + key, StringCodec.INSTANCE);
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class IdempotencyRecord {
+        private boolean completed;
+        private ErrorCode errorCode;
+        private String response;
+        private String requestHash;
+
+        static IdempotencyRecord inProgress(String requestHash) {
+            return IdempotencyRecord.builder().completed(false).requestHash(requestHash).build();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package zerobase.account.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import zerobase.account.config.FaultInjectionProperties;
+import zerobase.account.type.InjectionPhase;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 엔드포인트/단계별로 설정된 지연이나 장애를 주입
+ * 락 대기 시간 초과 같은 상황을 부하 테스트에서 일부러 재현할 때 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatencyInjector {
+    private final FaultInjectionProperties faultInjectionProperties;
+
+    public void inject(String endpoint, InjectionPhase phase) {
+        if (!faultInjectionProperties.isEnabled()) {
+            return;
+        }
+        FaultInjectionProperties.Rule rule = faultInjectionProperties.getRule(endpoint, phase);
+        if (rule == null) {
+            return;
+        }
+
+        if (rule.getDelayMillis() > 0) {
+            log.debug("Inject {} ms delay : {} {}", rule.getDelayMillis(), endpoint, phase);
+            try {
+                Thread.sleep(rule.getDelayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (rule.getFailureRate() > 0 && ThreadLocalRandom.current().nextDouble() < rule.getFailureRate()) {
+            throw new IllegalStateException("Injected fault : " + endpoint + " " + phase);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package zerobase.account.service;
+
+import org.springframework.stereotype.Component;
+import zerobase.account.config.LockProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌번호를 해시해 고정된 개수의 ReentrantLock 중 하나에 매핑
+ * 같은 노드 안에서 같은 계좌를 노리는 스레드는 여기서 먼저 줄을 서고, 한 스레드만 redis 락을 경쟁함
+ */
+@Component
+public class LocalStripedLock {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public LocalStripedLock(LockProperties lockProperties) {
+        int size = 1;
+        while (size < lockProperties.getStripes()) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            // 공정 락 : 오래 기다린 스레드부터 취득해 tryLock 타임아웃 몰림을 줄임
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+    }
+
+    public boolean tryLock(String key, long waitTime, TimeUnit unit) throws InterruptedException {
+        return stripeOf(key).tryLock(waitTime, unit);
+    }
+
+    public void unlock(String key) {
+        ReentrantLock lock = stripeOf(key);
+        // 모드가 바뀌었거나 취득에 실패한 경우에도 안전하게 호출할 수 있도록
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+
+    public boolean isHeldByCurrentThread(String key) {
+        return stripeOf(key).isHeldByCurrentThread();
+    }
+
+    private ReentrantLock stripeOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+}
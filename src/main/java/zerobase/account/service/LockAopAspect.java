@@ -6,7 +6,14 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
+import zerobase.account.aop.AccountLock;
 import zerobase.account.aop.AccountLockIdInterface;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.type.InjectionPhase;
+import zerobase.account.type.LockMode;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Aspect
 @Component
@@ -15,6 +22,10 @@ import zerobase.account.aop.AccountLockIdInterface;
 public class LockAopAspect {
 
     private final LockService lockService;
+    private final LockMetrics lockMetrics;
+    private final AccountLaneExecutor accountLaneExecutor;
+    private final LatencyInjector latencyInjector;
+    private final AccountShardService accountShardService;
 
     /**
      * @Before : 메소드가 실행되기 이전에 실행
@@ -23,17 +34,72 @@ public class LockAopAspect {
      * @After-throwing : 메소드 실행중 예외가 발생하면 실행 try-catch 의 catch 같이
      * @Around : 메소드 호출 자체를 가로채서 메소드 실행 전후에 처리할 로직 삽입
      */
-    @Around("@annotation(zerobase.account.aop.AccountLock) && args(request)")
+    @Around("@annotation(accountLock) && args(request)")
     public Object aroundMethod(ProceedingJoinPoint joinPoint,
+                               AccountLock accountLock,
                                AccountLockIdInterface request) throws Throwable{
-        // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
-        try {
+        String policyName = accountLock.name().isEmpty()
+                ? joinPoint.getSignature().getName() : accountLock.name();
+        latencyInjector.inject(policyName, InjectionPhase.BEFORE_LOCK);
 
+        // 분할 잔액 계좌 : slot 별 조건부 차감이라 계좌 락이 필요 없음
+        // 여러 계좌는 항상 계좌번호 오름차순으로 잠가서 교착 방지
+        List<String> lockKeys = request.getAccountNumbers().stream()
+                .filter(accountNumber -> !accountShardService.isSharded(accountNumber))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        if (lockKeys.isEmpty()) {
             return joinPoint.proceed();
-        }finally {
+        }
+
+        // lane 모드 : 같은 계좌의 요청은 같은 lane 에서 순서대로 실행되므로 락 없이 처리
+        // 이체는 출금 계좌의 lane 에서 실행 (입금은 원자적 증가라 다른 lane 과 겹쳐도 안전)
+        if (lockService.getMode() == LockMode.LANE) {
+            return accountLaneExecutor.execute(request.getAccountNumber(), () -> {
+                latencyInjector.inject(policyName, InjectionPhase.IN_LOCK);
+                return joinPoint.proceed();
+            });
+        }
+
+        LockPolicy lockPolicy = lockService.getPolicy(policyName, LockPolicy.from(accountLock));
+
+        int attempt = 0;
+        while (true) {
+            // lock 취득 시도
+            lockAll(lockKeys, lockPolicy);
+            long lockedAt = System.nanoTime();
+            try {
+                latencyInjector.inject(policyName, InjectionPhase.IN_LOCK);
+
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                // 낙관적 락 충돌처럼 다시 실행해도 되는 실패만 정해진 횟수까지 재시도
+                if (++attempt >= lockService.getMaxAttempts() || !lockService.isRetryable(e)) {
+                    throw e;
+                }
+                log.warn("Retry for accountNumber : {}, attempt : {}", request.getAccountNumber(), attempt);
+            }finally {
 // lock 해제
-            lockService.unlock(request.getAccountNumber());
+                for (int i = lockKeys.size() - 1; i >= 0; i--) {
+                    lockService.unlock(lockKeys.get(i));
+                    lockMetrics.recordHold(lockKeys.get(i), System.nanoTime() - lockedAt);
+                }
+            }
+        }
+    }
+
+    // 순서대로 잠그다 실패하면 이미 잡은 락을 역순으로 풀고 실패 전달
+    private void lockAll(List<String> lockKeys, LockPolicy lockPolicy) {
+        for (int i = 0; i < lockKeys.size(); i++) {
+            try {
+                lockService.lock(lockKeys.get(i), lockPolicy);
+            } catch (RuntimeException e) {
+                for (int j = i - 1; j >= 0; j--) {
+                    lockService.unlock(lockKeys.get(j));
+                }
+                throw e;
+            }
         }
     }
 }
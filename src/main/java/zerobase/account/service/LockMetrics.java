@@ -0,0 +1,124 @@
+package zerobase.account.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import zerobase.account.config.LockProperties;
+import zerobase.account.dto.HotAccountInfo;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 계좌 락 대기시간/점유시간/취득 실패를 micrometer 로 기록
+ * 계좌별 태그는 카디널리티가 커서 meter 로 만들지 않고, 집계 구간 동안 메모리에서만 모아 핫 계좌 조회에 사용
+ */
+@Component
+public class LockMetrics {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+    private final Counter failedCounter;
+    private final LockProperties lockProperties;
+    private final Map<String, AccountLockStats> accountStats = new ConcurrentHashMap<>();
+
+    public LockMetrics(MeterRegistry meterRegistry, LockProperties lockProperties) {
+        this.lockProperties = lockProperties;
+        this.waitTimer = Timer.builder("account.lock.wait")
+                .description("계좌 락 취득까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.holdTimer = Timer.builder("account.lock.hold")
+                .description("계좌 락을 잡고 있던 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("account.lock.failed")
+                .description("ACCOUNT_TRANSACTION_LOCK 으로 실패한 락 취득 수")
+                .register(meterRegistry);
+    }
+
+    public void recordAcquired(String accountNumber, long waitNanos) {
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        AccountLockStats stats = getStats(accountNumber);
+        if (stats != null) {
+            stats.acquisitions.increment();
+            stats.recordWait(waitNanos);
+        }
+    }
+
+    public void recordFailed(String accountNumber, long waitNanos) {
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        failedCounter.increment();
+        AccountLockStats stats = getStats(accountNumber);
+        if (stats != null) {
+            stats.failures.increment();
+            stats.recordWait(waitNanos);
+        }
+    }
+
+    public void recordHold(String accountNumber, long holdNanos) {
+        holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+        AccountLockStats stats = accountStats.get(accountNumber);
+        if (stats != null) {
+            stats.holdNanos.add(holdNanos);
+        }
+    }
+
+    // 현재 집계 구간에서 대기시간 합이 큰 순서로 limit 개
+    public List<HotAccountInfo> getHotAccounts(int limit) {
+        return accountStats.entrySet().stream()
+                .map(entry -> entry.getValue().toHotAccountInfo(entry.getKey()))
+                .sorted(Comparator.comparingDouble(HotAccountInfo::getTotalWaitMillis).reversed()
+                        .thenComparing(Comparator.comparingLong(HotAccountInfo::getAcquisitions).reversed()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "#{@lockProperties.hotAccountWindowMillis}")
+    public void resetWindow() {
+        accountStats.clear();
+    }
+
+    // 상한을 넘으면 이번 구간에는 새 계좌를 추적하지 않음
+    private AccountLockStats getStats(String accountNumber) {
+        AccountLockStats stats = accountStats.get(accountNumber);
+        if (stats != null || accountStats.size() >= lockProperties.getMaxTrackedAccounts()) {
+            return stats;
+        }
+        return accountStats.computeIfAbsent(accountNumber, key -> new AccountLockStats());
+    }
+
+    private static class AccountLockStats {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder holdNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+
+        private void recordWait(long nanos) {
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulate(nanos);
+        }
+
+        private HotAccountInfo toHotAccountInfo(String accountNumber) {
+            long acquired = acquisitions.sum();
+            return HotAccountInfo.builder()
+                    .accountNumber(accountNumber)
+                    .acquisitions(acquired)
+                    .failures(failures.sum())
+                    .totalWaitMillis(waitNanos.sum() / NANOS_PER_MILLI)
+                    .maxWaitMillis(maxWaitNanos.get() / NANOS_PER_MILLI)
+                    .avgHoldMillis(acquired == 0 ? 0 : holdNanos.sum() / NANOS_PER_MILLI / acquired)
+                    .build();
+        }
+    }
+}
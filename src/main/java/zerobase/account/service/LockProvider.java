@@ -0,0 +1,25 @@
+package zerobase.account.service;
+
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.type.LockMode;
+
+/**
+ * 계좌 단위 동시성 제어 방식
+ * account.lock.mode 설정값에 해당하는 구현체를 LockService 가 골라서 사용
+ */
+public interface LockProvider {
+    LockMode getMode();
+
+    void lock(String accountNumber, LockPolicy lockPolicy);
+
+    void unlock(String accountNumber);
+
+    // 락 없이 충돌을 감지하는 방식은 실패한 요청을 다시 실행할 수 있음
+    default int getMaxAttempts() {
+        return 1;
+    }
+
+    default boolean isRetryable(Throwable e) {
+        return false;
+    }
+}
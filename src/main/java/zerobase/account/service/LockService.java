@@ -1,51 +1,84 @@
 package zerobase.account.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.config.LockProperties;
 import zerobase.account.exception.AccountException;
 import zerobase.account.type.ErrorCode;
+import zerobase.account.type.LockMode;
 
-import java.util.concurrent.TimeUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class LockService {
-    private final RedissonClient redissonClient; // 이름이 같으면 Bean 자동 주입
+    private final LockProperties lockProperties;
+    private final LockMetrics lockMetrics;
+    private final Map<LockMode, LockProvider> lockProviders = new EnumMap<>(LockMode.class);
 
-    public void lock(String accountNumber) {
-        // 계좌번호 자체를 lock key로 사용
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
-        log.debug("Trying lock for accountNumber : {}", accountNumber);
+    public LockService(LockProperties lockProperties, LockMetrics lockMetrics, List<LockProvider> lockProviders) {
+        this.lockProperties = lockProperties;
+        this.lockMetrics = lockMetrics;
+        lockProviders.forEach(provider -> this.lockProviders.put(provider.getMode(), provider));
+    }
 
+    public void lock(String accountNumber, LockPolicy lockPolicy) {
+        long start = System.nanoTime();
         try {
-            // 5초동안 안무거도안하면 lock 잃음
-            // 1초 기다리는 동안 lock 풀리지않으면 취득 못함
-            boolean isLock = lock.tryLock(1, 5, TimeUnit.SECONDS);
-            if (!isLock) {
-                log.error("===Lock acquisition failed===");
-                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            getLockProvider().lock(accountNumber, lockPolicy);
+        } catch (AccountException e) {
+            long waitNanos = System.nanoTime() - start;
+            if (e.getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK) {
+                lockMetrics.recordFailed(accountNumber, waitNanos);
+                log.warn("Lock acquisition failed for accountNumber : {}, waited {} ms",
+                        accountNumber, waitNanos / 1_000_000);
             }
-        }catch (AccountException e){
             throw e;
-
-        }catch (Exception e) {
-            log.error("Redis lock failed", e);
         }
+        lockMetrics.recordAcquired(accountNumber, System.nanoTime() - start);
+    }
 
+    public void unlock(String accountNumber) {
+        getLockProvider().unlock(accountNumber);
+    }
 
+    public int getMaxAttempts() {
+        return getLockProvider().getMaxAttempts();
     }
 
-    public void unlock(String accountNumber) {
-        log.debug("Un lock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+    public boolean isRetryable(Throwable e) {
+        return getLockProvider().isRetryable(e);
+    }
+
+    // 어노테이션 값에 application.yml 의 엔드포인트별 설정을 덮어씀
+    public LockPolicy getPolicy(String name, LockPolicy defaultPolicy) {
+        LockProperties.Policy override = lockProperties.getPolicies().get(name);
+        if (override == null) {
+            return defaultPolicy;
+        }
 
+        return LockPolicy.builder()
+                .tryLockTime(override.getTryLockTime() != null
+                        ? override.getTryLockTime() : defaultPolicy.getTryLockTime())
+                .leaseTime(override.getLeaseTime() != null
+                        ? override.getLeaseTime() : defaultPolicy.getLeaseTime())
+                .failFast(override.getFailFast() != null
+                        ? override.getFailFast() : defaultPolicy.isFailFast())
+                .build();
     }
 
-    private static String getLockKey(String accountNumber) {
-        return "ACLK" + accountNumber;
+    public LockMode getMode() {
+        return lockProperties.getMode();
+    }
+
+    private LockProvider getLockProvider() {
+        LockProvider lockProvider = lockProviders.get(lockProperties.getMode());
+        if (lockProvider == null) {
+            throw new IllegalStateException("No lock provider for mode " + lockProperties.getMode());
+        }
+        return lockProvider;
     }
 }
@@ -0,0 +1,41 @@
+package zerobase.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.config.LockProperties;
+import zerobase.account.type.LockMode;
+
+/**
+ * 락을 잡지 않고 Account 의 @Version 으로 커밋 시점에 충돌을 감지
+ * 충돌하면 LockAopAspect 가 요청 전체를 다시 실행
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticLockProvider implements LockProvider {
+    private final LockProperties lockProperties;
+
+    @Override
+    public LockMode getMode() {
+        return LockMode.OPTIMISTIC;
+    }
+
+    @Override
+    public void lock(String accountNumber, LockPolicy lockPolicy) {
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+    }
+
+    @Override
+    public int getMaxAttempts() {
+        return lockProperties.getOptimisticMaxAttempts();
+    }
+
+    @Override
+    public boolean isRetryable(Throwable e) {
+        return e instanceof OptimisticLockingFailureException;
+    }
+}
@@ -0,0 +1,25 @@
+package zerobase.account.service;
+
+import org.springframework.stereotype.Component;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.type.LockMode;
+
+/**
+ * 분산 락 대신 TransactionService 가 트랜잭션 안에서 계좌 행을 SELECT ... FOR UPDATE 로 잠금
+ */
+@Component
+public class PessimisticLockProvider implements LockProvider {
+
+    @Override
+    public LockMode getMode() {
+        return LockMode.PESSIMISTIC;
+    }
+
+    @Override
+    public void lock(String accountNumber, LockPolicy lockPolicy) {
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+    }
+}
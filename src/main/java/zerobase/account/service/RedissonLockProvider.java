@@ -0,0 +1,61 @@
+package zerobase.account.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.exception.AccountException;
+import zerobase.account.type.ErrorCode;
+import zerobase.account.type.LockMode;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedissonLockProvider implements LockProvider {
+    private final RedissonClient redissonClient; // 이름이 같으면 Bean 자동 주입
+
+    @Override
+    public LockMode getMode() {
+        return LockMode.REDIS;
+    }
+
+    @Override
+    public void lock(String accountNumber, LockPolicy lockPolicy) {
+        if (!tryLock(accountNumber, lockPolicy.getWaitTime(), lockPolicy.getLeaseTime())) {
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    boolean tryLock(String accountNumber, long waitTime, long leaseTime) {
+        // 계좌번호 자체를 lock key로 사용
+        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+        log.debug("Trying lock for accountNumber : {}", accountNumber);
+
+        try {
+            // leaseTime 동안 안무거도안하면 lock 잃음
+            // waitTime 동안 lock 풀리지않으면 취득 못함
+            return lock.tryLock(waitTime, leaseTime, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RuntimeException e) {
+            // Redis 장애 시 락 없이 진행하지 않고 취득 실패로 처리
+            log.error("Redis lock failed", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        log.debug("Un lock for accountNumber : {}", accountNumber);
+        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+    }
+
+    private static String getLockKey(String accountNumber) {
+        return "ACLK" + accountNumber;
+    }
+}
@@ -0,0 +1,86 @@
+package zerobase.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순으로 증가하는 64bit 아이디를 16자리 hex 로 표현
+ * 41bit 밀리초(EPOCH 기준) | 10bit 노드 | 12bit 순번
+ * 고정 길이라 문자열 정렬 순서 = 생성 순서 -> transactionId 인덱스에 뒤쪽으로만 쌓임
+ */
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.generator", havingValue = "snowflake", matchIfMissing = true)
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+    // 2022-01-01T00:00:00Z
+    static final long EPOCH = 1640995200000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long nodeId;
+    // 마지막으로 발급한 (타임스탬프 << SEQUENCE_BITS | 순번)
+    private final AtomicLong state = new AtomicLong();
+
+    // 서버를 여러 대 띄우는 환경(require-node-id=true)에서는 node-id 를 지정하지 않으면 시작하지 않음
+    // 같은 node-id 를 쓰는 서버끼리는 같은 아이디를 발급할 수 있음
+    public SnowflakeTransactionIdGenerator(
+            @Value("${account.transaction-id.node-id:#{null}}") Long nodeId,
+            @Value("${account.transaction-id.require-node-id:false}") boolean requireNodeId) {
+        if (nodeId == null) {
+            if (requireNodeId) {
+                throw new IllegalStateException("account.transaction-id.node-id must be set for each server");
+            }
+            nodeId = 0L;
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String generate() {
+        long id = nextId();
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (id & 0xF)];
+            id >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    long nextId() {
+        while (true) {
+            long last = state.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long now = currentTimeMillis() - EPOCH;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // 같은 밀리초이거나 시계가 뒤로 간 경우 마지막 타임스탬프에서 순번만 증가
+                next = last + 1;
+            } else {
+                // 순번 소진 시 대기하지 않고 다음 밀리초를 당겨 씀
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                        | nodeId << SEQUENCE_BITS
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,100 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import zerobase.account.dto.TransactionDto;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 조회 캐시 : 로컬(Caffeine, W-TinyLFU) -> Redis -> DB
+ * 거래는 저장 후 바뀌지 않으므로 무효화 없이 저장 시점(커밋 후)에 바로 채움
+ * Redis 장애는 캐시 미스로 보고 DB 조회로 넘어감
+ */
+@Slf4j
+@Component
+public class TransactionCache {
+    private static final String KEY_PREFIX = "TXN:";
+
+    private final Cache<String, TransactionDto> localCache;
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final long redisTtlSeconds;
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+
+    public TransactionCache(RedissonClient redissonClient,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${account.transaction-cache.local-max-size:100000}") long localMaxSize,
+                            @Value("${account.transaction-cache.redis-ttl-seconds:86400}") long redisTtlSeconds) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.redisTtlSeconds = redisTtlSeconds;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions 등
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "transaction.local");
+        this.redisHitCounter = Counter.builder("account.transaction-cache.redis")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMissCounter = Counter.builder("account.transaction-cache.redis")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Optional<TransactionDto> get(String transactionId) {
+        TransactionDto cached = localCache.getIfPresent(transactionId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            String stored = getBucket(transactionId).get();
+            if (stored == null) {
+                redisMissCounter.increment();
+                return Optional.empty();
+            }
+            redisHitCounter.increment();
+            TransactionDto transactionDto = objectMapper.readValue(stored, TransactionDto.class);
+            localCache.put(transactionId, transactionDto);
+            return Optional.of(transactionDto);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to read transaction cache : {}", transactionId, e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(TransactionDto transactionDto) {
+        localCache.put(transactionDto.getTransactionId(), transactionDto);
+        try {
+            getBucket(transactionDto.getTransactionId())
+                    .set(objectMapper.writeValueAsString(transactionDto), redisTtlSeconds, TimeUnit.SECONDS);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to write transaction cache : {}", transactionDto.getTransactionId(), e);
+        }
+    }
+
+    // 롤백된 거래가 캐시에 남지 않도록 커밋 후 저장
+    public void putAfterCommit(TransactionDto transactionDto) {
+        AfterCommit.run(() -> put(transactionDto));
+    }
+
+    private RBucket<String> getBucket(String transactionId) {
+        return redissonClient.getBucket(KEY_PREFIX + transactionId, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,138 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.account.dto.TransactionDto;
+import zerobase.account.exception.AccountException;
+import zerobase.account.repository.AccountRepository;
+import zerobase.account.type.ErrorCode;
+import zerobase.account.type.ExportFormat;
+import zerobase.account.type.TransactionResultType;
+import zerobase.account.type.TransactionType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계좌 거래 원장 내보내기
+ * 엔티티/리스트로 모으지 않고 forward-only 커서를 fetch size 단위로 읽으면서 한 줄씩 바로 씀 -> 거래 수와 무관하게 메모리 일정
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+    private static final String CSV_HEADER =
+            "transaction_id,account_number,transaction_type,transaction_result,amount,balance_snapshot,transacted_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountRepository accountRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    AccountRepository accountRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${account.export.fetch-size:500}") int fetchSize) {
+        // 공용 JdbcTemplate 설정을 바꾸지 않도록 내보내기 전용으로 생성
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // 커서를 유지하려면 autocommit 을 끈 읽기 전용 트랜잭션 안에서 읽어야 하는 DB 가 있음 (PostgreSQL 등)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.accountRepository = accountRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // 응답을 쓰기 시작하면 에러 응답을 보낼 수 없으므로 스트리밍 전에 검증
+    public Long getAccountId(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND))
+                .getId();
+    }
+
+    // 기간은 from 이상 to 미만, 거래 순서(오래된 순)로 출력
+    public void export(Long accountId, String accountNumber, LocalDateTime from, LocalDateTime to,
+                       ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "select t.transaction_id, t.transaction_type, t.transaction_result_type, t.amount, " +
+                        "t.balance_snapshot, t.transacted_at from transaction t where t.account_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(accountId);
+        if (from != null) {
+            sql.append(" and t.transacted_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" and t.transacted_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" order by t.transacted_at, t.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (exportFormat == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql.toString(), resultSet -> {
+            try {
+                writeRow(writer, exportFormat, toDto(resultSet, accountNumber));
+            } catch (IOException e) {
+                // 클라이언트 연결이 끊긴 경우 -> 커서를 닫고 중단
+                throw new UncheckedIOException(e);
+            }
+        }, args.toArray()));
+
+        writer.flush();
+    }
+
+    private void writeRow(Writer writer, ExportFormat exportFormat, TransactionDto transactionDto) throws IOException {
+        if (exportFormat == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(transactionDto));
+        } else {
+            // 모든 값이 영숫자/enum/ISO 일시라 따옴표 처리 불필요
+            writer.write(String.join(",",
+                    transactionDto.getTransactionId(),
+                    transactionDto.getAccountNumber(),
+                    String.valueOf(transactionDto.getTransactionType()),
+                    String.valueOf(transactionDto.getTransactionResultType()),
+                    String.valueOf(transactionDto.getAmount()),
+                    String.valueOf(transactionDto.getBalanceSnapshot()),
+                    String.valueOf(transactionDto.getTransactedAt())));
+        }
+        writer.write('\n');
+    }
+
+    private static TransactionDto toDto(ResultSet resultSet, String accountNumber) throws SQLException {
+        Timestamp transactedAt = resultSet.getTimestamp("transacted_at");
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionId(resultSet.getString("transaction_id"))
+                .transactionType(TransactionType.valueOf(resultSet.getString("transaction_type")))
+                .transactionResultType(TransactionResultType.valueOf(resultSet.getString("transaction_result_type")))
+                .amount(resultSet.getLong("amount"))
+                .balanceSnapshot(resultSet.getObject("balance_snapshot", Long.class))
+                .transactedAt(transactedAt == null ? null : transactedAt.toLocalDateTime())
+                .build();
+    }
+}
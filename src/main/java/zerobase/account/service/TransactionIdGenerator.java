@@ -0,0 +1,9 @@
+package zerobase.account.service;
+
+/**
+ * 거래 아이디 생성기
+ * account.transaction-id.generator 로 구현 선택 (snowflake 기본, uuid)
+ */
+public interface TransactionIdGenerator {
+    String generate();
+}
@@ -3,29 +3,47 @@ package zerobase.account.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import zerobase.account.config.LockProperties;
 import zerobase.account.domain.Account;
-import zerobase.account.domain.AccountUser;
+import zerobase.account.domain.AccountHold;
 import zerobase.account.domain.Transaction;
+import zerobase.account.dto.AccountOwnerDto;
+import zerobase.account.dto.HoldDto;
+import zerobase.account.dto.PointInTimeBalance;
 import zerobase.account.dto.TransactionDto;
+import zerobase.account.dto.TransactionPageDto;
 import zerobase.account.exception.AccountException;
+import zerobase.account.repository.AccountHoldRepository;
 import zerobase.account.repository.AccountRepository;
-import zerobase.account.repository.AccountUserRepository;
 import zerobase.account.repository.TransactionRepository;
 import zerobase.account.type.AccountStatus;
 import zerobase.account.type.ErrorCode;
+import zerobase.account.type.HoldStatus;
+import zerobase.account.type.InjectionPhase;
+import zerobase.account.type.LockMode;
 import zerobase.account.type.TransactionResultType;
 import zerobase.account.type.TransactionType;
 
 import javax.transaction.Transactional;
 import javax.validation.constraints.NotBlank;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static zerobase.account.type.TransactionResultType.F;
 import static zerobase.account.type.TransactionResultType.S;
 import static zerobase.account.type.TransactionType.CANCEL;
+import static zerobase.account.type.TransactionType.TRANSFER_IN;
+import static zerobase.account.type.TransactionType.TRANSFER_OUT;
 import static zerobase.account.type.TransactionType.USE;
 
 @Slf4j
@@ -33,77 +51,342 @@ import static zerobase.account.type.TransactionType.USE;
 @RequiredArgsConstructor
 public class TransactionService {
     private final TransactionRepository transactionRepository;
-    private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final LockProperties lockProperties;
+    private final LatencyInjector latencyInjector;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountShardService accountShardService;
+    private final AccountHoldRepository accountHoldRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionCache transactionCache;
+    private final AccountListCache accountListCache;
+    private final AccountRollupService accountRollupService;
+
+    @Value("${account.hold.ttl-seconds:600}")
+    private long holdTtlSeconds;
 
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
-        AccountUser user = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        latencyInjector.inject("use", InjectionPhase.IN_TRANSACTION);
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        return toCachedDto(withdraw(USE, userId, accountNumber, amount));
+    }
+
+    // 이체 : 출금과 입금을 한 DB 트랜잭션에서 처리 (어느 쪽이든 실패하면 모두 롤백)
+    @Transactional
+    public TransactionDto transfer(Long userId, String fromAccountNumber, String toAccountNumber, Long amount) {
+        latencyInjector.inject("transfer", InjectionPhase.IN_TRANSACTION);
+
+        if (Objects.equals(fromAccountNumber, toAccountNumber)) {
+            throw new AccountException(ErrorCode.TRANSFER_TO_SAME_ACCOUNT);
+        }
+        Account toAccount = getAccount(toAccountNumber);
+        if (toAccount.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        Transaction transferOut = withdraw(TRANSFER_OUT, userId, fromAccountNumber, amount);
+        toCachedDto(deposit(TRANSFER_IN, toAccount, amount));
+
+        return toCachedDto(transferOut);
+    }
+
+    // 출금 : 잔액 사용과 이체 출금
+    private Transaction withdraw(TransactionType transactionType, Long userId, String accountNumber, Long amount) {
+        if (accountShardService.isSharded(accountNumber)) {
+            return useShardedBalance(transactionType, getAccountOwner(userId, accountNumber), getAccount(accountNumber), amount);
+        }
+        if (lockProperties.getMode() == LockMode.OPTIMISTIC || lockProperties.getMode() == LockMode.PESSIMISTIC) {
+            return withdrawByEntity(transactionType, userId, accountNumber, amount);
+        }
 
-        validateUseBalance(user, account, amount);
+        // 조건부 UPDATE 한 번으로 검증과 차감을 같이 처리 -> 락 lease 가 만료되어도 잔액이 음수가 되지 않음
+        if (isValidAmount(amount) && accountRepository.useBalanceIfEnough(
+                userId, accountNumber, amount, AccountStatus.IN_USE, LocalDateTime.now()) > 0) {
+            // 차감한 행은 커밋까지 잠겨 있으므로 지금 읽은 잔액이 이 거래의 잔액 스냅샷
+            return saveAndGetTransaction(transactionType, S, amount, getAccount(accountNumber));
+        }
+
+        // 차감되지 않은 경우에만 원인 확인 (사용자/계좌/소유주를 쿼리 한 번으로)
+        AccountOwnerDto owner = getAccountOwner(userId, accountNumber);
+
+        // 다른 서버에서 분할한 계좌를 아직 모르는 경우
+        if (owner.isSharded()) {
+            return useShardedBalance(transactionType, owner, getAccount(accountNumber), amount);
+        }
+
+        validateUseBalance(owner, owner.getAvailableBalance(), amount);
+
+        // 검증은 통과했지만 그 사이 다른 거래로 잔액이 줄어든 경우
+        throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+    }
+
+    // OPTIMISTIC : 잠그지 않고 읽은 계좌를 차감, 커밋 시 @Version 충돌이면 LockAopAspect 가 재시도
+    // PESSIMISTIC : SELECT ... FOR UPDATE 로 계좌 행을 잠그고 차감
+    private Transaction withdrawByEntity(TransactionType transactionType, Long userId, String accountNumber, Long amount) {
+        AccountOwnerDto owner = getAccountOwner(userId, accountNumber);
+        if (owner.isSharded()) {
+            return useShardedBalance(transactionType, owner, getAccount(accountNumber), amount);
+        }
 
+        Account account = getAccountForUpdate(accountNumber);
+        validateUseBalance(owner, account.getAvailableBalance(), amount);
         account.useBalance(amount);
 
-        return TransactionDto.fromEntity(saveAndGetTransaction(USE, S, amount, account));
+        return saveAndGetTransaction(transactionType, S, amount, account);
     }
 
-    private void validateUseBalance(AccountUser user, Account account, Long amount) {
-        if(!Objects.equals(user.getId(), account.getAccountUser().getId())){
+    // 잔액 예약 : 잔액 사용과 같은 검증을 예약 시점에 한 번만 하고 예약 금액만 늘림
+    @Transactional
+    public HoldDto holdBalance(Long userId, String accountNumber, Long amount) {
+        // 분할 잔액 계좌는 예약 금액을 나눠 담을 수 없음
+        if (accountShardService.isSharded(accountNumber)) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!isValidAmount(amount) || accountRepository.holdBalanceIfEnough(
+                userId, accountNumber, amount, AccountStatus.IN_USE, now) == 0) {
+            AccountOwnerDto owner = getAccountOwner(userId, accountNumber);
+            if (owner.isSharded()) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+            validateUseBalance(owner, owner.getAvailableBalance(), amount);
+
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+
+        AccountHold accountHold = accountHoldRepository.save(AccountHold.builder()
+                .account(getAccount(accountNumber))
+                .holdId(transactionIdGenerator.generate())
+                .amount(amount)
+                .holdStatus(HoldStatus.HELD)
+                .expiresAt(now.plusSeconds(holdTtlSeconds))
+                .build());
+        // 커밋 후 만료 타이머 등록
+        applicationEventPublisher.publishEvent(
+                new HoldReservedEvent(accountHold.getHoldId(), accountHold.getExpiresAt()));
+
+        return HoldDto.fromEntity(accountHold);
+    }
+
+    // 예약 확정 : 예약 상태만 바꾸고 예약해 둔 금액을 차감 -> 검증 없이 짧게 끝나므로 계좌 락 불필요
+    @Transactional
+    public TransactionDto captureHold(Long userId, String accountNumber, String holdId) {
+        AccountHold accountHold = getOwnedHold(userId, accountNumber, holdId);
+        LocalDateTime now = LocalDateTime.now();
+        if (accountHoldRepository.captureIfActive(holdId, now) == 0) {
+            throw holdFailure(holdId);
+        }
+
+        Long accountId = accountHold.getAccount().getId();
+        accountRepository.captureHeldBalance(accountId, accountHold.getAmount(), now);
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        return toCachedDto(saveAndGetTransaction(USE, S, accountHold.getAmount(), account));
+    }
+
+    @Transactional
+    public HoldDto releaseHold(Long userId, String accountNumber, String holdId) {
+        getOwnedHold(userId, accountNumber, holdId);
+        LocalDateTime now = LocalDateTime.now();
+        if (accountHoldRepository.releaseIfHeld(holdId, now) == 0) {
+            throw holdFailure(holdId);
+        }
+
+        AccountHold accountHold = getHold(holdId);
+        accountRepository.releaseHeldBalance(accountHold.getAccount().getId(), accountHold.getAmount(), now);
+
+        return HoldDto.fromEntity(accountHold);
+    }
+
+    // 만료 타이머에서 호출, 이미 확정/해제된 예약이면 아무것도 하지 않음
+    @Transactional
+    public void expireHold(String holdId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (accountHoldRepository.expireIfDue(holdId, now) == 0) {
+            return;
+        }
+
+        AccountHold accountHold = getHold(holdId);
+        accountRepository.releaseHeldBalance(accountHold.getAccount().getId(), accountHold.getAmount(), now);
+        log.info("Hold expired : {}", holdId);
+    }
+
+    private AccountHold getHold(String holdId) {
+        return accountHoldRepository.findByHoldId(holdId)
+                .orElseThrow(() -> new AccountException(ErrorCode.HOLD_NOT_FOUND));
+    }
+
+    // 예약한 사용자/계좌가 아니면 상태를 바꾸기 전에 거절 (소유자 id 는 계좌 프록시에서 조회 없이 읽음)
+    private AccountHold getOwnedHold(Long userId, String accountNumber, String holdId) {
+        AccountHold accountHold = getHold(holdId);
+        Account account = accountHold.getAccount();
+        if (!Objects.equals(account.getAccountNumber(), accountNumber)
+                || !Objects.equals(account.getAccountUser().getId(), userId)) {
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
         }
-        if(account.getAccountStatus() != AccountStatus.IN_USE){
+        return accountHold;
+    }
+
+    // 상태 전이에 실패한 이유 확인
+    private AccountException holdFailure(String holdId) {
+        HoldStatus holdStatus = getHold(holdId).getHoldStatus();
+        return new AccountException(holdStatus == HoldStatus.HELD || holdStatus == HoldStatus.EXPIRED
+                ? ErrorCode.HOLD_EXPIRED : ErrorCode.HOLD_ALREADY_COMPLETED);
+    }
+
+    // 분할 잔액 계좌 : 임의의 slot 에서 차감 (부족하면 재분배)
+    // 잔액 스냅샷은 잠그지 않은 slot 합계라 근사값으로 표시 (정확한 합계를 위해 모든 slot 을 잠그면 분할한 의미가 없음)
+    private Transaction useShardedBalance(TransactionType transactionType, AccountOwnerDto owner, Account account, Long amount) {
+        validateUseBalance(owner, accountShardService.getTotalBalance(account), amount);
+
+        accountShardService.useBalance(account, amount);
+
+        return saveAndGetTransaction(
+                transactionType, S, amount, account, accountShardService.getTotalBalance(account));
+    }
+
+    // 입금 : 분할 잔액 계좌는 임의의 slot, 아니면 계좌 행에 원자적 증가
+    private Transaction deposit(TransactionType transactionType, Account account, Long amount) {
+        if (account.isSharded()) {
+            accountShardService.addBalance(account, amount);
+            return saveAndGetTransaction(
+                    transactionType, S, amount, account, accountShardService.getTotalBalance(account));
+        }
+
+        return saveAndGetTransaction(transactionType, S, amount, creditBalance(account, amount));
+    }
+
+    // 행이 없으면 사용자 없음, 계좌 id 가 없으면 계좌 없음
+    private AccountOwnerDto getAccountOwner(Long userId, String accountNumber) {
+        AccountOwnerDto owner = accountRepository.findAccountOwner(userId, accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        if (owner.getAccountId() == null) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+        return owner;
+    }
+
+    private Account getAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+
+    // 잔액을 변경할 계좌 조회 : PESSIMISTIC 모드에서는 행 잠금을 함께 취득
+    private Account getAccountForUpdate(String accountNumber) {
+        Optional<Account> account = lockProperties.getMode() == LockMode.PESSIMISTIC
+                ? accountRepository.findByAccountNumberForUpdate(accountNumber)
+                : accountRepository.findByAccountNumber(accountNumber);
+
+        return account.orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+
+    private void validateUseBalance(AccountOwnerDto owner, Long balance, Long amount) {
+        if(!Objects.equals(owner.getUserId(), owner.getOwnerId())){
+            throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
+        }
+        if(owner.getAccountStatus() != AccountStatus.IN_USE){
             throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
         }
-        if(account.getBalance() < amount){
+        if(balance < amount){
             throw  new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
-        if(amount<10 || amount>1000_000_000){
+        if(!isValidAmount(amount)){
             throw new AccountException(ErrorCode.INVALID_AMOUNT);
         }
     }
 
+    private static boolean isValidAmount(Long amount) {
+        return amount >= 10 && amount <= 1000_000_000;
+    }
+
     private Transaction saveAndGetTransaction(TransactionType transactionType, TransactionResultType transactionResultType, Long amount, Account account) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResultType(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build()
+        return saveAndGetTransaction(transactionType, transactionResultType, amount, account, account.getBalance());
+    }
+
+    // 일별 집계는 거래가 커밋된 뒤 반영
+    private Transaction saveAndGetTransaction(TransactionType transactionType, TransactionResultType transactionResultType, Long amount, Account account, Long balanceSnapshot) {
+        Transaction transaction = transactionRepository.save(
+                buildTransaction(transactionType, transactionResultType, amount, account, balanceSnapshot)
         );
+        accountRollupService.record(transaction);
+        return transaction;
     }
 
+    // 잔액을 바꾸는 거래는 모두 잔액 행을 변경한 뒤 호출 -> 거래일시와 id 가 행 잠금 순서대로 매겨짐
+    private Transaction buildTransaction(TransactionType transactionType, TransactionResultType transactionResultType, Long amount, Account account, Long balanceSnapshot) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .approximateSnapshot(account.isSharded())
+                .transactionId(transactionIdGenerator.generate())
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // FailedTransactionSink 동기 저장 경로 (비동기 저장이 꺼져 있는 경우)
     @Transactional
-    public void saveFailedUseTransaction(String accountNumber, Long amount) {
+    public void saveFailedTransaction(TransactionType transactionType, String accountNumber, Long amount) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        saveAndGetTransaction(USE, F, amount, account);
+        saveAndGetTransaction(transactionType, F, amount, account);
     }
 
     @Transactional
     public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
+        latencyInjector.inject("cancel", InjectionPhase.IN_TRANSACTION);
+
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
                 .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        Account account = getAccountForUpdate(accountNumber);
 
         validateCancelBalance(transaction, account, amount);
 
-        account.cancelBalance(amount);
+        if (account.isSharded()) {
+            accountShardService.addBalance(account, amount);
+            return toCachedDto(saveCancelTransaction(
+                    transaction, amount, account, accountShardService.getTotalBalance(account)));
+        }
 
-        return TransactionDto.fromEntity(
-                saveAndGetTransaction(CANCEL, S, amount, account)
+        Account credited = creditBalance(account, amount);
+        return toCachedDto(
+                saveCancelTransaction(transaction, amount, credited, credited.getBalance())
         );
     }
 
+    // 원거래를 참조해서 저장, 동시에 같은 거래를 취소하면 unique 제약 위반 -> 입금까지 롤백
+    private Transaction saveCancelTransaction(Transaction cancelledTransaction, Long amount, Account account, Long balanceSnapshot) {
+        Transaction transaction = buildTransaction(CANCEL, S, amount, account, balanceSnapshot);
+        transaction.setCancelledTransaction(cancelledTransaction);
+        Transaction saved;
+        try {
+            saved = transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+        }
+        accountRollupService.record(saved);
+        return saved;
+    }
+
+    // 계좌 락 없이 원자적 증가로 입금, 증가한 행은 커밋까지 잠겨 있으므로 다시 읽은 잔액이 스냅샷
+    private Account creditBalance(Account account, Long amount) {
+        if (accountRepository.addBalance(account.getId(), amount, LocalDateTime.now()) == 0) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+
+        return accountRepository.findById(account.getId())
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    }
+
     private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
+        if (transaction.getTransactionType() != USE) {
+            throw new AccountException(ErrorCode.CANCEL_ONLY_USE_TRANSACTION);
+        }
         if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
             throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
         }
@@ -113,20 +396,142 @@ public class TransactionService {
         if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
             throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
         }
+        if (transactionRepository.existsByCancelledTransaction(transaction)) {
+            throw new AccountException(ErrorCode.TRANSACTION_ALREADY_CANCELLED);
+        }
     }
 
-    @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+    // 캐시에 없을 때만 DB 조회 (비동기로 저장되는 실패 거래 등)
+    public TransactionDto queryTransaction(String transactionId) {
+        return transactionCache.get(transactionId).orElseGet(() -> {
+            TransactionDto transactionDto = transactionRepository.findDtoByTransactionId(transactionId)
+                    .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+            transactionCache.put(transactionDto);
+            return transactionDto;
+        });
+    }
 
-        saveAndGetTransaction(CANCEL, F, amount, account);
+    // 새로 저장한 거래는 커밋 후 캐시에 채워서 상태 조회가 DB 까지 가지 않도록
+    // 성공 거래는 모두 잔액을 바꾸므로 계좌 주인의 계좌 목록 캐시도 커밋 후 삭제
+    private TransactionDto toCachedDto(Transaction transaction) {
+        TransactionDto transactionDto = TransactionDto.fromEntity(transaction);
+        transactionCache.putAfterCommit(transactionDto);
+        accountListCache.evictAfterCommit(transaction.getAccount());
+        return transactionDto;
     }
 
-    public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                        .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND))
-        );
+    // 시점 잔액 : 거래 기록을 다시 계산하지 않고 at 이전 마지막 성공 거래의 잔액 스냅샷을 사용
+    // 실패 거래의 스냅샷은 비동기 저장 시점 잔액일 수 있어 제외
+    // 거래일시는 잔액 행을 변경한 뒤(커밋까지 행 잠금 유지) 찍으므로 계좌별 거래일시 순서 = 잔액 변경 순서
+    // 단, 서버 간 시계 차이만큼은 순서가 뒤바뀔 수 있음 (서버 시계는 NTP 로 맞춘다고 가정)
+    // 분할 잔액 계좌 거래의 스냅샷은 근사값이라 쓰지 않고 BALANCE_SNAPSHOT_UNAVAILABLE
+    public PointInTimeBalance getBalanceAt(String accountNumber, LocalDateTime at) {
+        Account account = getAccount(accountNumber);
+        if (account.getRegisteredAt() != null && at.isBefore(account.getRegisteredAt())) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+        PageRequest first = PageRequest.of(0, 1);
+
+        List<Transaction> before = transactionRepository.findSnapshotAtOrBefore(account.getId(), at, first);
+        if (!before.isEmpty()) {
+            Transaction transaction = requireExactSnapshot(before.get(0));
+            return pointInTimeBalance(account, at, transaction, transaction.getBalanceSnapshot());
+        }
+
+        // at 이전 거래가 없으면 첫 거래 직전 잔액 (= 개설 시 잔액)
+        List<Transaction> after = transactionRepository.findSnapshotAfter(account.getId(), at, first);
+        if (!after.isEmpty()) {
+            Transaction transaction = requireExactSnapshot(after.get(0));
+            return pointInTimeBalance(account, at, transaction,
+                    transaction.getBalanceSnapshot() - balanceDelta(transaction));
+        }
+
+        // 거래가 한 번도 없으면 개설 시 잔액 그대로
+        return PointInTimeBalance.builder()
+                .accountNumber(accountNumber)
+                .at(at)
+                .balance(account.isSharded() ? accountShardService.getTotalBalance(account) : account.getBalance())
+                .build();
+    }
+
+    private static Transaction requireExactSnapshot(Transaction transaction) {
+        if (Boolean.TRUE.equals(transaction.getApproximateSnapshot())) {
+            throw new AccountException(ErrorCode.BALANCE_SNAPSHOT_UNAVAILABLE);
+        }
+        return transaction;
+    }
+
+    // 거래가 잔액을 바꾼 양 : 출금은 음수, 입금(취소/이체 입금)은 양수
+    private static long balanceDelta(Transaction transaction) {
+        return transaction.getTransactionType() == USE || transaction.getTransactionType() == TRANSFER_OUT
+                ? -transaction.getAmount() : transaction.getAmount();
+    }
+
+    private static PointInTimeBalance pointInTimeBalance(Account account, LocalDateTime at,
+                                                         Transaction transaction, Long balance) {
+        return PointInTimeBalance.builder()
+                .accountNumber(account.getAccountNumber())
+                .at(at)
+                .balance(balance)
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+
+    // 계좌별 거래 내역 : 최신순 keyset 페이지, size 는 1 ~ 100
+    public TransactionPageDto getTransactionHistory(String accountNumber, TransactionType transactionType,
+                                                    TransactionResultType transactionResultType,
+                                                    String cursor, int size) {
+        Account account = getAccount(accountNumber);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        // 한 건 더 읽어서 다음 페이지가 있는지 확인
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findHistory(
+                    account.getId(), transactionType, transactionResultType, limit);
+        } else {
+            HistoryCursor historyCursor = HistoryCursor.decode(cursor);
+            transactions = transactionRepository.findHistoryBefore(
+                    account.getId(), historyCursor.transactedAt, historyCursor.id,
+                    transactionType, transactionResultType, limit);
+        }
+
+        boolean hasNext = transactions.size() > pageSize;
+        List<Transaction> page = hasNext ? transactions.subList(0, pageSize) : transactions;
+
+        return TransactionPageDto.builder()
+                .transactions(page.stream().map(TransactionDto::fromEntity).collect(Collectors.toList()))
+                .nextCursor(hasNext ? HistoryCursor.encode(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    // 커서 : 마지막 거래의 "transactedAt,id" 를 base64url 로 감싼 값
+    private static class HistoryCursor {
+        private final LocalDateTime transactedAt;
+        private final Long id;
+
+        private HistoryCursor(LocalDateTime transactedAt, Long id) {
+            this.transactedAt = transactedAt;
+            this.id = id;
+        }
+
+        static String encode(Transaction transaction) {
+            String raw = transaction.getTransactedAt() + "," + transaction.getId();
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int comma = raw.lastIndexOf(',');
+                return new HistoryCursor(LocalDateTime.parse(raw.substring(0, comma)),
+                        Long.parseLong(raw.substring(comma + 1)));
+            } catch (RuntimeException e) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+        }
     }
 }
@@ -20,7 +20,16 @@ public enum ErrorCode {
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다."),
     BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
     MAX_ACCOUNT_PER_USER_10("사용자최대 계좌는 10개입니다."),
-    INVALID_AMOUNT("거래금액이 너무 작거나 큽니다.");
+    INVALID_AMOUNT("거래금액이 너무 작거나 큽니다."),
+    CANCEL_ONLY_USE_TRANSACTION("잔액 사용 거래만 취소할 수 있습니다."),
+    TRANSFER_TO_SAME_ACCOUNT("같은 계좌로 이체할 수 없습니다."),
+    HOLD_NOT_FOUND("예약이 없습니다."),
+    HOLD_ALREADY_COMPLETED("이미 확정되었거나 해제된 예약입니다."),
+    HOLD_EXPIRED("만료된 예약입니다."),
+    TRANSACTION_ALREADY_CANCELLED("이미 취소된 거래입니다."),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("같은 요청이 처리 중입니다."),
+    IDEMPOTENCY_KEY_REUSED("같은 멱등 키로 다른 요청을 보냈습니다."),
+    BALANCE_SNAPSHOT_UNAVAILABLE("분할 잔액 계좌의 해당 시점 잔액은 조회할 수 없습니다.");
 
     private final String description;
 }
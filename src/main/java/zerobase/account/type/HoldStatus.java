@@ -0,0 +1,5 @@
+package zerobase.account.type;
+
+public enum HoldStatus {
+    HELD, CAPTURED, RELEASED, EXPIRED
+}
@@ -0,0 +1,7 @@
+package zerobase.account.type;
+
+public enum InjectionPhase {
+    BEFORE_LOCK,
+    IN_LOCK,
+    IN_TRANSACTION
+}
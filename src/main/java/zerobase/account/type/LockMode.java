@@ -0,0 +1,9 @@
+package zerobase.account.type;
+
+public enum LockMode {
+    REDIS,
+    HYBRID,
+    OPTIMISTIC,
+    PESSIMISTIC,
+    LANE
+}
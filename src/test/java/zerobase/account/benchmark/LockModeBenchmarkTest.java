@@ -0,0 +1,143 @@
+package zerobase.account.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.config.LockProperties;
+import zerobase.account.service.AccountLaneExecutor;
+import zerobase.account.service.AccountService;
+import zerobase.account.service.LockService;
+import zerobase.account.service.TransactionService;
+import zerobase.account.type.LockMode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 계좌에 여러 스레드가 동시에 잔액 사용을 요청할 때 동시성 제어 방식별 처리량과 p99 비교
+ * ./gradlew benchmark 로만 실행됨
+ */
+@Tag("benchmark")
+@SpringBootTest
+class LockModeBenchmarkTest {
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 200;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LockService lockService;
+
+    @Autowired
+    private LockProperties lockProperties;
+
+    @Autowired
+    private AccountLaneExecutor accountLaneExecutor;
+
+    @Test
+    @DisplayName("락 모드별 핫 계좌 동시 사용 처리량 비교")
+    void compareLockModes() throws InterruptedException {
+        //given
+        LockMode original = lockProperties.getMode();
+
+        //when
+        //then : 모드별 처리량/p99 를 출력해서 비교
+        try {
+            for (LockMode mode : LockMode.values()) {
+                lockProperties.setMode(mode);
+                run(mode);
+            }
+        } finally {
+            lockProperties.setMode(original);
+        }
+    }
+
+    private void run(LockMode mode) throws InterruptedException {
+        String accountNumber = accountService.createAccount(1L, 1_000_000_000L).getAccountNumber();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                        long begin = System.nanoTime();
+                        if (!useBalance(accountNumber)) {
+                            failures.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - begin);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+        System.out.printf("%-12s throughput=%8.1f req/s  p99=%7.2f ms  failures=%d%n",
+                mode,
+                sorted.size() / (elapsed / 1_000_000_000.0),
+                p99 / 1_000_000.0,
+                failures.get());
+    }
+
+    // LockAopAspect 와 같은 순서로 락 취득 -> 잔액 사용 -> 락 해제, 재시도 가능한 실패는 재시도
+    private boolean useBalance(String accountNumber) {
+        if (lockService.getMode() == LockMode.LANE) {
+            try {
+                accountLaneExecutor.execute(accountNumber,
+                        () -> transactionService.useBalance(1L, accountNumber, 10L));
+                return true;
+            } catch (Throwable e) {
+                return false;
+            }
+        }
+
+        int attempt = 0;
+        while (true) {
+            try {
+                lockService.lock(accountNumber, lockService.getPolicy("use", LockPolicy.DEFAULT));
+            } catch (RuntimeException e) {
+                return false;
+            }
+            try {
+                transactionService.useBalance(1L, accountNumber, 10L);
+                return true;
+            } catch (RuntimeException e) {
+                if (++attempt >= lockService.getMaxAttempts() || !lockService.isRetryable(e)) {
+                    return false;
+                }
+            } finally {
+                lockService.unlock(accountNumber);
+            }
+        }
+    }
+}
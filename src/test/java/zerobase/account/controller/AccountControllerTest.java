@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import zerobase.account.dto.AccountDto;
+import zerobase.account.dto.AccountInfo;
 import zerobase.account.dto.CreateAccount;
 import zerobase.account.dto.DeleteAccount;
 import zerobase.account.exception.AccountException;
@@ -98,15 +99,15 @@ class AccountControllerTest {
     @Test
     void successGetAccountsByUserId() throws Exception {
         //given
-        List<AccountDto> accountDtos =
+        List<AccountInfo> accountDtos =
                 Arrays.asList(
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("1234567890")
                                 .balance(1000L).build(),
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("1111111111")
                                 .balance(2000L).build(),
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("2222222222")
                                 .balance(3000L).build()
                 );
@@ -9,20 +9,41 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import zerobase.account.dto.CancelBalance;
+import zerobase.account.dto.DailySummary;
+import zerobase.account.dto.HoldBalance;
+import zerobase.account.dto.PointInTimeBalance;
 import zerobase.account.dto.TransactionDto;
+import zerobase.account.dto.TransactionPageDto;
+import zerobase.account.dto.Transfer;
 import zerobase.account.dto.UseBalance;
+import zerobase.account.service.AccountRollupService;
+import zerobase.account.service.FailedTransactionSink;
+import zerobase.account.service.TransactionExportService;
 import zerobase.account.service.TransactionService;
+import zerobase.account.type.ExportFormat;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static zerobase.account.type.TransactionResultType.S;
 import static zerobase.account.type.TransactionType.USE;
@@ -32,6 +53,15 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private FailedTransactionSink failedTransactionSink;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
+    @MockBean
+    private AccountRollupService accountRollupService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -68,6 +98,64 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(12345));
     }
 
+    @Test
+    @DisplayName("예약 확정 성공")
+    void successCaptureHold() throws Exception {
+        //given
+        given(transactionService.captureHold(1L, "1000000000", "holdId"))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactedAt(LocalDateTime.now())
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .transactionResultType(S)
+                        .build());
+
+        //when
+
+        //then
+        mockMvc.perform(post("/transaction/hold/holdId/capture")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new HoldBalance.CompleteRequest(1L, "1000000000")
+                ))
+        ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.amount").value(1000));
+    }
+
+    @Test
+    @DisplayName("계좌 이체 성공")
+    void successTransfer() throws Exception {
+        //given
+        given(transactionService.transfer(anyLong(), anyString(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000000")
+                        .transactedAt(LocalDateTime.now())
+                        .transactionId("transactionIdForTransfer")
+                        .amount(3000L)
+                        .transactionResultType(S)
+                        .build());
+
+        //when
+
+        //then
+        mockMvc.perform(post("/transaction/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new Transfer.Request(1L, "1000000000", "2000000000", 3000L)
+                ))
+        ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccountNumber").value("1000000000"))
+                .andExpect(jsonPath("$.toAccountNumber").value("2000000000"))
+                .andExpect(jsonPath("$.transactionResult").value("S"))
+                .andExpect(jsonPath("$.transactionId").value("transactionIdForTransfer"))
+                .andExpect(jsonPath("$.amount").value(3000));
+    }
+
     @Test
     void successCancelBalance() throws Exception {
         //given
@@ -122,4 +210,104 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactionId").value("transactionIdForCancel"))
                 .andExpect(jsonPath("$.amount").value(54321));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("계좌별 거래 내역 조회")
+    void getTransactionHistory() throws Exception {
+        //given
+        given(transactionService.getTransactionHistory(eq("1234567890"), eq(USE), isNull(), isNull(), eq(20)))
+                .willReturn(TransactionPageDto.builder()
+                        .transactions(Collections.singletonList(TransactionDto.builder()
+                                .accountNumber("1234567890")
+                                .transactionType(USE)
+                                .transactionResultType(S)
+                                .transactionId("transactionId")
+                                .amount(1000L)
+                                .transactedAt(LocalDateTime.now())
+                                .build()))
+                        .nextCursor("nextCursor")
+                        .build());
+
+        //when
+        //then
+        mockMvc.perform(get("/account/1234567890/transactions?transaction_type=USE"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.transactions[0].transactionType").value("USE"))
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("거래 원장 내보내기 - CSV 스트리밍")
+    void exportTransactions() throws Exception {
+        //given
+        given(transactionExportService.getAccountId(eq("1234567890"), eq(LocalDateTime.of(2022, 1, 1, 0, 0)), isNull()))
+                .willReturn(1L);
+        willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(5);
+            outputStream.write("transaction_id\ntransactionId\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(transactionExportService).export(eq(1L), eq("1234567890"), any(), isNull(), eq(ExportFormat.CSV), any());
+
+        //when
+        //then
+        mockMvc.perform(asyncDispatch(mockMvc.perform(
+                        get("/account/1234567890/transactions/export?format=CSV&from=2022-01-01T00:00:00"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"1234567890.csv\""))
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("transaction_id\ntransactionId\n"));
+    }
+
+    @Test
+    @DisplayName("일별 요약 조회")
+    void getDailySummaries() throws Exception {
+        //given
+        given(accountRollupService.getDailySummaries("1234567890",
+                LocalDate.of(2022, 1, 1), LocalDate.of(2022, 1, 31)))
+                .willReturn(Collections.singletonList(DailySummary.builder()
+                        .date(LocalDate.of(2022, 1, 2))
+                        .useCount(2L)
+                        .useAmount(3000L)
+                        .cancelCount(0L)
+                        .cancelAmount(0L)
+                        .successCount(2L)
+                        .failureCount(2L)
+                        .successRatio(0.5)
+                        .build()));
+
+        //when
+        //then
+        mockMvc.perform(get("/account/1234567890/daily-summary?from=2022-01-01&to=2022-01-31"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].useAmount").value(3000))
+                .andExpect(jsonPath("$[0].successRatio").value(0.5));
+    }
+
+    @Test
+    @DisplayName("시점 잔액 조회")
+    void getBalanceAt() throws Exception {
+        //given
+        LocalDateTime at = LocalDateTime.of(2022, 6, 1, 12, 0);
+        given(transactionService.getBalanceAt("1234567890", at))
+                .willReturn(PointInTimeBalance.builder()
+                        .accountNumber("1234567890")
+                        .at(at)
+                        .balance(8000L)
+                        .transactionId("transactionId")
+                        .transactedAt(at.minusHours(1))
+                        .build());
+
+        //when
+        //then
+        mockMvc.perform(get("/account/1234567890/balance?at=2022-06-01T12:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(8000))
+                .andExpect(jsonPath("$.transactionId").value("transactionId"));
+    }
+}
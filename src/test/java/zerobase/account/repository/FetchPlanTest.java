@@ -0,0 +1,191 @@
+package zerobase.account.repository;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import zerobase.account.domain.Account;
+import zerobase.account.domain.AccountHold;
+import zerobase.account.domain.AccountUser;
+import zerobase.account.domain.Transaction;
+import zerobase.account.dto.AccountInfo;
+import zerobase.account.dto.AccountOwnerDto;
+import zerobase.account.dto.HoldDto;
+import zerobase.account.dto.TransactionDto;
+import zerobase.account.type.AccountStatus;
+import zerobase.account.type.HoldStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zerobase.account.repository.SqlStatementCounter.withinBudget;
+import static zerobase.account.type.TransactionResultType.S;
+import static zerobase.account.type.TransactionType.USE;
+
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=zerobase.account.repository.SqlStatementCounter")
+class FetchPlanTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountHoldRepository accountHoldRepository;
+
+    private AccountUser user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(AccountUser.builder().name("Pobi").build());
+        account = entityManager.persist(account("1000000008"));
+        entityManager.persist(account("1000000016"));
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Transaction.builder()
+                    .account(account)
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .amount(100L)
+                    .balanceSnapshot(10000L - 100L * (i + 1))
+                    .transactionId("transactionId" + i)
+                    .transactedAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        entityManager.persist(AccountHold.builder()
+                .account(account)
+                .holdId("holdId")
+                .amount(1000L)
+                .holdStatus(HoldStatus.HELD)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("계좌 조회 - 사용자를 추가로 조회하지 않음")
+    void findAccountDoesNotLoadUser() {
+        //given
+        //when
+        Account found = withinBudget(1, () -> {
+            Account loaded = accountRepository.findByAccountNumber("1000000008").get();
+            // 소유자 확인은 id 만 사용 -> 추가 조회 없음
+            assertEquals(user.getId(), loaded.getAccountUser().getId());
+            return loaded;
+        });
+
+        //then
+        assertFalse(Hibernate.isInitialized(found.getAccountUser()));
+    }
+
+    @Test
+    @DisplayName("거래 조회 - 계좌를 추가로 조회하지 않음")
+    void findTransactionDoesNotLoadAccount() {
+        //given
+        //when
+        Transaction found = withinBudget(1, () -> {
+            Transaction loaded = transactionRepository.findByTransactionId("transactionId0").get();
+            assertEquals(account.getId(), loaded.getAccount().getId());
+            return loaded;
+        });
+
+        //then
+        assertFalse(Hibernate.isInitialized(found.getAccount()));
+    }
+
+    @Test
+    @DisplayName("거래 확인 - 응답 타입으로 한 번에 조회")
+    void queryTransactionProjection() {
+        //given
+        //when
+        TransactionDto transactionDto = withinBudget(1,
+                () -> transactionRepository.findDtoByTransactionId("transactionId0").get());
+
+        //then
+        assertEquals("1000000008", transactionDto.getAccountNumber());
+        assertEquals(100L, transactionDto.getAmount());
+    }
+
+    @Test
+    @DisplayName("계좌 확인 - 응답 타입으로 한 번에 조회")
+    void accountInfoProjection() {
+        //given
+        //when
+        List<AccountInfo> accountInfos = withinBudget(1,
+                () -> accountRepository.findAccountInfos(user.getId(), AccountStatus.IN_USE));
+
+        //then
+        assertEquals(2, accountInfos.size());
+        assertEquals("1000000008", accountInfos.get(0).getAccountNumber());
+        assertEquals(10000L, accountInfos.get(0).getBalance());
+    }
+
+    @Test
+    @DisplayName("거래 내역 - 계좌를 같이 조회 (N+1 없음)")
+    void historyHasNoNPlusOne() {
+        //given
+        //when
+        List<TransactionDto> history = withinBudget(1, () -> transactionRepository.findHistory(
+                        account.getId(), null, null, PageRequest.of(0, 10))
+                .stream().map(TransactionDto::fromEntity).collect(Collectors.toList()));
+
+        //then
+        assertEquals(5, history.size());
+        assertEquals("1000000008", history.get(0).getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("사용자/계좌/소유주 확인 - 쿼리 한 번")
+    void findAccountOwnerInOneStatement() {
+        //given
+        AccountUser harry = entityManager.persistAndFlush(AccountUser.builder().name("Harry").build());
+
+        //when
+        AccountOwnerDto owner = withinBudget(1,
+                () -> accountRepository.findAccountOwner(user.getId(), "1000000008").get());
+        AccountOwnerDto noAccount = withinBudget(1,
+                () -> accountRepository.findAccountOwner(user.getId(), "9999999999").get());
+        AccountOwnerDto other = withinBudget(1,
+                () -> accountRepository.findAccountOwner(harry.getId(), "1000000008").get());
+
+        //then
+        assertEquals(user.getId(), owner.getOwnerId());
+        assertEquals(10000L, owner.getAvailableBalance());
+        assertNull(noAccount.getAccountId());
+        assertNotEquals(other.getUserId(), other.getOwnerId());
+        assertFalse(accountRepository.findAccountOwner(-1L, "1000000008").isPresent());
+    }
+
+    @Test
+    @DisplayName("잔액 예약 조회 - 계좌를 같이 조회")
+    void findHoldWithAccount() {
+        //given
+        //when
+        HoldDto holdDto = withinBudget(1,
+                () -> HoldDto.fromEntity(accountHoldRepository.findByHoldId("holdId").get()));
+
+        //then
+        assertEquals("1000000008", holdDto.getAccountNumber());
+    }
+
+    private Account account(String accountNumber) {
+        return Account.builder()
+                .accountUser(user)
+                .accountNumber(accountNumber)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .registeredAt(LocalDateTime.now())
+                .build();
+    }
+}
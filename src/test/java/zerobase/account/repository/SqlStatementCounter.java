@@ -0,0 +1,39 @@
+package zerobase.account.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 테스트용 SQL 실행 횟수 집계
+ * hibernate.session_factory.statement_inspector 로 등록 -> 경로별 SQL 예산을 넘으면 테스트 실패 (N+1 방지)
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    public static <T> T withinBudget(int budget, Supplier<T> action) {
+        reset();
+        T result = action.get();
+        int executed = count();
+        assertTrue(executed <= budget,
+                "SQL budget exceeded : expected <= " + budget + " but was " + executed);
+        return result;
+    }
+}
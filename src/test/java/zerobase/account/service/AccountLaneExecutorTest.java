@@ -0,0 +1,145 @@
+package zerobase.account.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zerobase.account.config.LockProperties;
+import zerobase.account.exception.AccountException;
+import zerobase.account.type.ErrorCode;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLaneExecutorTest {
+    private AccountLaneExecutor accountLaneExecutor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        accountLaneExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 계좌는 같은 lane 에서 순서대로 실행")
+    void sameAccountRunsOnSameLane() throws Throwable {
+        //given
+        accountLaneExecutor = new AccountLaneExecutor(new LockProperties(), new SimpleMeterRegistry());
+
+        //when
+        Object first = accountLaneExecutor.execute("1234567890", () -> Thread.currentThread().getName());
+        Object second = accountLaneExecutor.execute("1234567890", () -> Thread.currentThread().getName());
+
+        //then
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("작업 예외는 호출한 스레드로 다시 던짐")
+    void exceptionIsRethrown() {
+        //given
+        accountLaneExecutor = new AccountLaneExecutor(new LockProperties(), new SimpleMeterRegistry());
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLaneExecutor.execute("1234567890", () -> {
+                    throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+                }));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("실패 - lane 대기열이 가득 차면 거절")
+    void rejectWhenQueueIsFull() throws InterruptedException {
+        //given
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.getLane().setCount(1);
+        lockProperties.getLane().setQueueCapacity(1);
+        accountLaneExecutor = new AccountLaneExecutor(lockProperties, new SimpleMeterRegistry());
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        executeAsync(callers, () -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        running.await(5, TimeUnit.SECONDS);
+        executeAsync(callers, () -> "queued");
+        while (accountLaneExecutor.getQueueDepths().get(0) < 1) {
+            Thread.sleep(10L);
+        }
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLaneExecutor.execute("1234567890", () -> "rejected"));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        release.countDown();
+        callers.shutdown();
+    }
+
+    @Test
+    @DisplayName("대기 시간 초과 - 시작하지 않은 작업은 실행하지 않음")
+    void queuedTaskIsNotExecutedAfterTimeout() throws Throwable {
+        //given
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.getLane().setCount(1);
+        lockProperties.getLane().setTimeoutMillis(100L);
+        accountLaneExecutor = new AccountLaneExecutor(lockProperties, new SimpleMeterRegistry());
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean executed = new AtomicBoolean();
+        ExecutorService callers = Executors.newFixedThreadPool(1);
+        executeAsync(callers, () -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        running.await(5, TimeUnit.SECONDS);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLaneExecutor.execute("1234567890", () -> executed.getAndSet(true)));
+        release.countDown();
+        accountLaneExecutor.execute("1234567890", () -> "drained");
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertFalse(executed.get());
+        callers.shutdown();
+    }
+
+    @Test
+    @DisplayName("대기 시간 초과 - 이미 시작한 작업은 끝까지 기다려 결과 반환")
+    void startedTaskResultIsReturnedAfterTimeout() throws Throwable {
+        //given
+        LockProperties lockProperties = new LockProperties();
+        lockProperties.getLane().setTimeoutMillis(100L);
+        accountLaneExecutor = new AccountLaneExecutor(lockProperties, new SimpleMeterRegistry());
+
+        //when
+        Object result = accountLaneExecutor.execute("1234567890", () -> {
+            Thread.sleep(300L);
+            return "committed";
+        });
+
+        //then
+        assertEquals("committed", result);
+    }
+
+    private void executeAsync(ExecutorService callers, AccountLaneExecutor.LaneTask task) {
+        callers.submit(() -> {
+            try {
+                return accountLaneExecutor.execute("1234567890", task);
+            } catch (Throwable t) {
+                return t;
+            }
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import zerobase.account.dto.AccountInfo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountListCacheTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScript script;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    // Redis 대신 키/값 저장, 스크립트는 같은 동작을 자바로 흉내냄
+    private final Map<String, String> redis = new HashMap<>();
+
+    private AccountListCache accountListCache;
+
+    @BeforeEach
+    void setUp() {
+        accountListCache = new AccountListCache(redissonClient, objectMapper, new SimpleMeterRegistry(), 300L);
+        lenient().when(redissonClient.getBucket(anyString(), any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            RBucket<Object> bucket = mock(RBucket.class);
+            lenient().when(bucket.get()).thenAnswer(get -> redis.get(key));
+            return bucket;
+        });
+        lenient().when(redissonClient.getScript(any())).thenReturn(script);
+        lenient().when(script.eval(any(), anyString(), any(), anyList(), any()))
+                .thenAnswer(this::evalScript);
+    }
+
+    private Object evalScript(InvocationOnMock invocation) {
+        String lua = invocation.getArgument(1);
+        List<Object> keys = invocation.getArgument(3);
+        Object[] args = invocation.getArguments();
+        String listKey = (String) keys.get(0);
+        String generationKey = (String) keys.get(1);
+        String generation = redis.getOrDefault(generationKey, "0");
+        if (lua.equals(AccountListCache.PUT_SCRIPT)) {
+            if (!generation.equals(args[4])) {
+                return false;
+            }
+            redis.put(listKey, (String) args[5]);
+            return true;
+        }
+        redis.put(generationKey, String.valueOf(Long.parseLong(generation) + 1));
+        redis.remove(listKey);
+        return true;
+    }
+
+    @Test
+    @DisplayName("계좌 목록 캐시 - 저장 후 조회")
+    void putAndGet() {
+        //given
+        accountListCache.put(1L, accountListCache.generation(1L), List.of(new AccountInfo("1000000008", 1000L)));
+
+        //when
+        Optional<List<AccountInfo>> cached = accountListCache.get(1L);
+
+        //then
+        assertTrue(cached.isPresent());
+        assertEquals(1, cached.get().size());
+        assertEquals("1000000008", cached.get().get(0).getAccountNumber());
+        assertEquals(1000L, cached.get().get(0).getBalance());
+        verify(script).eval(eq(RScript.Mode.READ_WRITE), eq(AccountListCache.PUT_SCRIPT), any(),
+                eq(List.of("ACCOUNTS:{1}", "ACCOUNTS:GEN:{1}")), eq("0"), anyString(), eq("300"));
+    }
+
+    @Test
+    @DisplayName("계좌 목록 캐시 - 없으면 캐시 미스")
+    void miss() {
+        //given
+        //when
+        Optional<List<AccountInfo>> cached = accountListCache.get(1L);
+
+        //then
+        assertFalse(cached.isPresent());
+    }
+
+    @Test
+    @DisplayName("계좌 목록 캐시 - 트랜잭션 밖에서는 바로 삭제하고 세대 증가")
+    void evictAfterCommitOutsideTransaction() {
+        //given
+        accountListCache.put(1L, 0L, List.of(new AccountInfo("1000000008", 1000L)));
+
+        //when
+        accountListCache.evictAfterCommit(1L);
+
+        //then
+        assertFalse(accountListCache.get(1L).isPresent());
+        assertEquals(1L, accountListCache.generation(1L));
+        verify(script).eval(eq(RScript.Mode.READ_WRITE), eq(AccountListCache.EVICT_SCRIPT), any(),
+                eq(List.of("ACCOUNTS:{1}", "ACCOUNTS:GEN:{1}")), eq("600"));
+    }
+
+    @Test
+    @DisplayName("계좌 목록 캐시 - 삭제 전에 읽은 이전 목록은 저장하지 않음")
+    void staleLoadAfterEvictIsNotStored() {
+        //given
+        // 조회 : 캐시 미스 후 세대를 읽고 DB 에서 이전 목록을 읽음
+        assertFalse(accountListCache.get(1L).isPresent());
+        long generation = accountListCache.generation(1L);
+        List<AccountInfo> staleAccounts = List.of(new AccountInfo("1000000008", 1000L));
+
+        // 그 사이 잔액 변경이 커밋되고 캐시 삭제
+        accountListCache.evict(1L);
+
+        //when
+        // 조회가 늦게 이전 목록을 저장
+        accountListCache.put(1L, generation, staleAccounts);
+
+        //then
+        assertFalse(accountListCache.get(1L).isPresent());
+
+        // 삭제 후에 시작한 조회는 저장됨
+        accountListCache.put(1L, accountListCache.generation(1L), List.of(new AccountInfo("1000000008", 0L)));
+        assertEquals(0L, accountListCache.get(1L).get().get(0).getBalance());
+    }
+
+    @Test
+    @DisplayName("계좌 목록 캐시 - 세대를 읽지 못하면 저장하지 않음")
+    void skipPutWhenGenerationUnknown() {
+        //given
+        given(redissonClient.getBucket(eq("ACCOUNTS:GEN:{1}"), any()))
+                .willThrow(new IllegalStateException("redis down"));
+
+        //when
+        long generation = accountListCache.generation(1L);
+        accountListCache.put(1L, generation, List.of(new AccountInfo("1000000008", 1000L)));
+
+        //then
+        assertEquals(AccountListCache.UNKNOWN_GENERATION, generation);
+        assertFalse(redis.containsKey("ACCOUNTS:{1}"));
+    }
+}
@@ -0,0 +1,135 @@
+package zerobase.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+import zerobase.account.repository.AccountRepository;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RAtomicLong sequence;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("계좌번호 발급 - 구간을 한 번 예약하고 메모리에서 발급")
+    void reserveBlockOnceAndHandOutFromMemory() {
+        //given
+        given(redissonClient.getAtomicLong(AccountNumberAllocator.SEQUENCE_KEY))
+                .willReturn(sequence);
+        given(sequence.isExists())
+                .willReturn(true);
+        given(sequence.addAndGet(100L))
+                .willReturn(100L, 200L);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(redissonClient, accountRepository, 100L, 1L);
+
+        //when
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 150; i++) {
+            numbers.add(allocator.next());
+        }
+
+        //then
+        verify(sequence, times(2)).addAndGet(100L);
+        verify(accountRepository, never()).findMaxNumberSequence();
+        assertEquals(150, numbers.size());
+        numbers.forEach(number -> {
+            assertEquals(10, number.length());
+            assertTrue(AccountNumberAllocator.isValid(number));
+        });
+    }
+
+    @Test
+    @DisplayName("계좌번호 발급 - 치환 결과는 10^9 범위 안에서 중복 없음")
+    void permutationStaysInNumberSpace() {
+        //given
+        given(redissonClient.getAtomicLong(AccountNumberAllocator.SEQUENCE_KEY))
+                .willReturn(sequence);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(redissonClient, accountRepository, 100L, 1L);
+
+        //when
+        Set<Long> permuted = new HashSet<>();
+        for (long seq = 0; seq < 10_000; seq++) {
+            long value = allocator.permute(seq);
+
+            //then
+            assertTrue(value >= 0 && value < AccountNumberAllocator.NUMBER_SPACE);
+            permuted.add(value);
+        }
+        assertEquals(10_000, permuted.size());
+        assertNotEquals(1L, allocator.permute(1L) - allocator.permute(0L));
+    }
+
+    @Test
+    @DisplayName("계좌번호 발급 - Redis 카운터가 없으면 DB 최대 순번 다음부터")
+    void reseedFromDbWhenCounterIsMissing() {
+        //given
+        given(redissonClient.getAtomicLong(AccountNumberAllocator.SEQUENCE_KEY))
+                .willReturn(sequence);
+        given(sequence.isExists())
+                .willReturn(false);
+        given(accountRepository.findMaxNumberSequence())
+                .willReturn(Optional.of(499L));
+        given(sequence.compareAndSet(0L, 500L))
+                .willReturn(true);
+        given(sequence.addAndGet(100L))
+                .willReturn(600L);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(redissonClient, accountRepository, 100L, 1L);
+
+        //when
+        String number = allocator.next();
+
+        //then
+        verify(sequence).compareAndSet(0L, 500L);
+        assertEquals(500L, allocator.sequenceOf(number));
+    }
+
+    @Test
+    @DisplayName("계좌번호 발급 - 계좌번호에서 발급 순번 복원")
+    void sequenceOfIsInverseOfPermute() {
+        //given
+        given(redissonClient.getAtomicLong(AccountNumberAllocator.SEQUENCE_KEY))
+                .willReturn(sequence);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(redissonClient, accountRepository, 100L, 1L);
+
+        //when
+        //then
+        for (long seq = 0; seq < 10_000; seq++) {
+            String body = String.format("%09d", allocator.permute(seq));
+            assertEquals(seq, allocator.sequenceOf(body + AccountNumberAllocator.checkDigit(body)));
+        }
+        assertNull(allocator.sequenceOf("1000000001"));
+    }
+
+    @Test
+    @DisplayName("계좌번호 검증 숫자 - Luhn")
+    void luhnCheckDigit() {
+        //given
+        //when
+        int checkDigit = AccountNumberAllocator.checkDigit("7992739871");
+
+        //then
+        assertEquals(3, checkDigit);
+        assertTrue(AccountNumberAllocator.isValid("1000000008"));
+        assertFalse(AccountNumberAllocator.isValid("1000000001"));
+    }
+}
@@ -0,0 +1,253 @@
+package zerobase.account.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.account.domain.Account;
+import zerobase.account.domain.AccountUser;
+import zerobase.account.domain.Transaction;
+import zerobase.account.dto.DailySummary;
+import zerobase.account.repository.AccountDailyRollupRepository;
+import zerobase.account.repository.AccountRepository;
+import zerobase.account.repository.AccountUserRepository;
+import zerobase.account.repository.TransactionRepository;
+import zerobase.account.type.AccountStatus;
+import zerobase.account.type.TransactionResultType;
+import zerobase.account.type.TransactionType;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zerobase.account.type.TransactionResultType.F;
+import static zerobase.account.type.TransactionResultType.S;
+import static zerobase.account.type.TransactionType.CANCEL;
+import static zerobase.account.type.TransactionType.USE;
+
+// 집계는 커밋 후 별도 트랜잭션에서 반영되므로 테스트 트랜잭션 없이 실행하고 직접 정리
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountRollupServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2022, 1, 1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountDailyRollupRepository accountDailyRollupRepository;
+
+    private AccountRollupService accountRollupService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        accountRollupService = new AccountRollupService(
+                jdbcTemplate, transactionManager, accountRepository, accountDailyRollupRepository, 500, 60L);
+
+        AccountUser user = accountUserRepository.save(AccountUser.builder().name("Pobi").build());
+        account = accountRepository.save(Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000008")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from account_daily_rollup where account_id = ?", account.getId());
+        jdbcTemplate.update("delete from transaction where account_id = ?", account.getId());
+        jdbcTemplate.update("delete from account where id = ?", account.getId());
+        jdbcTemplate.update("delete from account_user where id = ?", account.getAccountUser().getId());
+    }
+
+    @Test
+    @DisplayName("일별 집계 - 커밋 후 반영")
+    void recordAfterCommit() {
+        //given
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            accountRollupService.record(transactionRepository.save(transaction(USE, S, 1000L, DAY.atTime(9, 0))));
+            accountRollupService.record(transactionRepository.save(transaction(USE, S, 2000L, DAY.atTime(10, 0))));
+            accountRollupService.record(transactionRepository.save(transaction(USE, F, 5000L, DAY.atTime(11, 0))));
+            accountRollupService.recordAfterCommit(List.of(
+                    transactionRepository.save(transaction(CANCEL, F, 100L, DAY.atTime(12, 0))).getTransactionId(),
+                    transactionRepository.save(transaction(CANCEL, F, 300L, DAY.atTime(13, 0))).getTransactionId()));
+            accountRollupService.record(transactionRepository.save(transaction(CANCEL, S, 1000L, DAY.plusDays(1).atTime(9, 0))));
+        });
+
+        //then
+        List<DailySummary> summaries = accountRollupService.getDailySummaries("1000000008", DAY, DAY.plusDays(1));
+        assertEquals(2, summaries.size());
+        DailySummary first = summaries.get(0);
+        assertEquals(DAY, first.getDate());
+        assertEquals(2L, first.getUseCount());
+        assertEquals(3000L, first.getUseAmount());
+        assertEquals(2L, first.getSuccessCount());
+        assertEquals(3L, first.getFailureCount());
+        assertEquals(0.4, first.getSuccessRatio(), 0.0001);
+        assertEquals(1000L, summaries.get(1).getCancelAmount());
+        assertEquals(1.0, summaries.get(1).getSuccessRatio(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("일별 집계 - 롤백된 거래는 반영하지 않음")
+    void notRecordedWhenRolledBack() {
+        //given
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            accountRollupService.record(transactionRepository.save(transaction(USE, S, 1000L, DAY.atTime(9, 0))));
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertTrue(accountRollupService.getDailySummaries("1000000008", DAY, DAY).isEmpty());
+    }
+
+    @Test
+    @DisplayName("일별 집계 - 거래 테이블에서 재집계")
+    void rebuildFromTransactions() {
+        //given
+        transactionRepository.save(transaction(USE, S, 1000L, DAY.atTime(9, 0)));
+        transactionRepository.save(transaction(USE, S, 2000L, DAY.atTime(23, 59)));
+        transactionRepository.save(transaction(USE, S, 4000L, DAY.plusDays(1).atTime(0, 0)));
+        // 잘못 쌓인 집계는 재계산으로 덮어씀
+        jdbcTemplate.update("insert into account_daily_rollup (account_id, rollup_date, transaction_type, " +
+                        "transaction_result_type, transaction_count, total_amount) values (?, ?, ?, ?, ?, ?)",
+                account.getId(), Date.valueOf(DAY), USE.name(), S.name(), 10L, 99999L);
+
+        //when
+        int days = accountRollupService.rebuild(DAY, DAY.plusDays(1));
+
+        //then
+        assertEquals(2, days);
+        List<DailySummary> summaries = accountRollupService.getDailySummaries("1000000008", DAY, DAY.plusDays(1));
+        assertEquals(2L, summaries.get(0).getUseCount());
+        assertEquals(3000L, summaries.get(0).getUseAmount());
+        assertEquals(4000L, summaries.get(1).getUseAmount());
+    }
+
+    @Test
+    @DisplayName("일별 집계 - 재집계 후 늦게 실행된 커밋 후 반영은 건너뜀")
+    void lateMergeAfterRebuildIsSkipped() {
+        //given
+        // 거래는 커밋됐지만 커밋 후 반영이 재집계보다 늦게 실행되는 경우
+        Transaction used = transactionRepository.save(transaction(USE, S, 1000L, DAY.atTime(9, 0)));
+        accountRollupService.rebuild(DAY, DAY);
+
+        //when
+        accountRollupService.apply(List.of(used.getTransactionId()));
+
+        //then
+        List<DailySummary> summaries = accountRollupService.getDailySummaries("1000000008", DAY, DAY);
+        assertEquals(1L, summaries.get(0).getUseCount());
+        assertEquals(1000L, summaries.get(0).getUseAmount());
+    }
+
+    @Test
+    @DisplayName("일별 집계 - 반영 실패 거래 재시도는 한 번만 더함")
+    void retryUnappliedOnce() {
+        //given
+        // 커밋 후 반영이 실패해 집계 여부가 남지 않은 거래
+        transactionRepository.save(transaction(USE, S, 1000L, DAY.atTime(9, 0)));
+        transactionRepository.save(transaction(USE, S, 2000L, DAY.atTime(10, 0)));
+
+        //when
+        accountRollupService.retryUnapplied();
+        accountRollupService.retryUnapplied();
+
+        //then
+        List<DailySummary> summaries = accountRollupService.getDailySummaries("1000000008", DAY, DAY);
+        assertEquals(2L, summaries.get(0).getUseCount());
+        assertEquals(3000L, summaries.get(0).getUseAmount());
+    }
+
+    @Test
+    @DisplayName("일별 집계 - 재집계와 커밋 후 반영이 동시에 실행되어도 한 번만 더함")
+    void concurrentRebuildAndMergeCountOnce() throws Exception {
+        //given
+        int count = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        AtomicBoolean recording = new AtomicBoolean(true);
+
+        //when
+        Future<?> recorder = executorService.submit(() -> {
+            try {
+                for (int i = 0; i < count; i++) {
+                    LocalDateTime transactedAt = DAY.atTime(9, 0).plusSeconds(i);
+                    transactionTemplate.executeWithoutResult(status -> accountRollupService.record(
+                            transactionRepository.save(transaction(USE, S, 100L, transactedAt))));
+                }
+            } finally {
+                recording.set(false);
+            }
+        });
+        Future<?> rebuilder = executorService.submit(() -> {
+            while (recording.get()) {
+                try {
+                    accountRollupService.rebuild(DAY, DAY);
+                } catch (RuntimeException e) {
+                    // 락 대기 시간 초과 등으로 실패한 재집계는 롤백되므로 결과에 영향 없음
+                }
+            }
+        });
+        recorder.get(30, TimeUnit.SECONDS);
+        rebuilder.get(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+        // 락 대기로 실패한 커밋 후 반영 재시도
+        accountRollupService.retryUnapplied();
+
+        //then
+        List<DailySummary> summaries = accountRollupService.getDailySummaries("1000000008", DAY, DAY);
+        assertEquals((long) count, summaries.get(0).getUseCount());
+        assertEquals(100L * count, summaries.get(0).getUseAmount());
+    }
+
+    private Transaction transaction(TransactionType transactionType, TransactionResultType transactionResultType,
+                                    Long amount, LocalDateTime transactedAt) {
+        return Transaction.builder()
+                .account(account)
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .amount(amount)
+                .balanceSnapshot(10000L)
+                .transactionId(transactionType + "-" + transactedAt)
+                .transactedAt(transactedAt)
+                .build();
+    }
+}
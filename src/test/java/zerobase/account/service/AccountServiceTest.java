@@ -6,15 +6,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import zerobase.account.domain.Account;
 import zerobase.account.domain.AccountUser;
 import zerobase.account.dto.AccountDto;
+import zerobase.account.dto.AccountInfo;
 import zerobase.account.exception.AccountException;
 import zerobase.account.repository.AccountRepository;
 import zerobase.account.repository.AccountUserRepository;
 import zerobase.account.type.AccountStatus;
 import zerobase.account.type.ErrorCode;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +28,7 @@ import java.util.Optional;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -35,6 +41,19 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountShardService accountShardService;
+
+    @Mock
+    private AccountListCache accountListCache;
+
+    // 트랜잭션 매니저만 가짜로 두고 콜백은 그대로 실행
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks // 가짜로 만든 AccountUserRepository, accountRepository를 injection 해줌
     private AccountService accountService;
 
@@ -56,8 +75,9 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
 
-        // account number 랜덤 생성
-        // account number = "1234567890"
+        // account number 발급
+        given(accountNumberAllocator.next())
+                .willReturn("1234567890");
 
         // account 저장
         given(accountRepository.save(any()))
@@ -76,10 +96,59 @@ class AccountServiceTest {
         // 같은지 확인
         assertEquals(12L, accountDto.getUserId());
         assertEquals("1234567890", accountDto.getAccountNumber());
-//        assertEquals("1234567890", captor.getValue().getAccountNumber()); 이거는 랜덤생성한건데 테스트 어떻게?
+        assertEquals("1234567890", captor.getValue().getAccountNumber());
+        verify(accountListCache, times(1)).evictAfterCommit(1L);
     }
 
 
+    @Test
+    @DisplayName("계좌생성 - 계좌번호 중복 시 새 번호로 재시도")
+    void createAccount_retryOnDuplicateNumber() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountNumberAllocator.next())
+                .willReturn("1000000008", "1234567890");
+        given(accountRepository.save(any()))
+                .willThrow(new DataIntegrityViolationException("duplicate"))
+                .willReturn(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("1234567890").build());
+
+        //when
+        AccountDto accountDto = accountService.createAccount(1L, 1000L);
+
+        //then
+        verify(accountRepository, times(2)).save(any());
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals("1234567890", accountDto.getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("계좌생성 - 실패 - 계좌번호 중복이 계속되면 재시도 후 예외")
+    void createAccountFail_duplicateNumberExhausted() {
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi").build();
+        user.setId(12L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountNumberAllocator.next())
+                .willReturn("1000000008");
+        given(accountRepository.save(any()))
+                .willThrow(new DataIntegrityViolationException("duplicate"));
+
+        //when
+        assertThrows(DataIntegrityViolationException.class,
+                () -> accountService.createAccount(1L, 1000L));
+
+        //then
+        verify(accountRepository, times(3)).save(any());
+    }
+
     @Test
     @DisplayName("계좌생성 - 실패 - 사용자 없음")
     void createAccountFail_UserNotFound() {
@@ -151,6 +220,7 @@ class AccountServiceTest {
         assertEquals(11L, accountDto.getUserId());
         assertEquals("1234567890", captor.getValue().getAccountNumber());
         assertEquals(AccountStatus.UNREGISTERED, captor.getValue().getAccountStatus());
+        verify(accountListCache, times(1)).evictAfterCommit(3L);
     }
 
     @Test
@@ -273,33 +343,18 @@ class AccountServiceTest {
     @DisplayName("계좌확인 - 성공")
     void successGetAccountsByUserId() {
         //given
-        AccountUser pobi = AccountUser.builder()
-                .name("Pobi").build();
-        pobi.setId(17L);
-        List<Account> accounts = Arrays.asList(
-                Account.builder()
-                        .accountUser(pobi)
-                        .accountNumber("1111111111")
-                        .balance(1000L)
-                        .build(),
-                Account.builder()
-                        .accountNumber("2222222222")
-                        .accountUser(pobi)
-                        .balance(2000L)
-                        .build(),
-                Account.builder()
-                        .accountNumber("3333333333")
-                        .accountUser(pobi)
-                        .balance(3000L)
-                        .build()
+        List<AccountInfo> accounts = Arrays.asList(
+                new AccountInfo("1111111111", 1000L),
+                new AccountInfo("2222222222", 2000L),
+                new AccountInfo("3333333333", 3000L)
         );
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
-        given(accountRepository.findByAccountUser(any()))
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findAccountInfos(1L, AccountStatus.IN_USE))
                 .willReturn(accounts);
 
         //when
-        List<AccountDto> accountDtos = accountService.getAccountsByUserId(1L);
+        List<AccountInfo> accountDtos = accountService.getAccountsByUserId(1L);
 
         //then
         assertEquals(3, accountDtos.size());
@@ -309,14 +364,32 @@ class AccountServiceTest {
         assertEquals(2000, accountDtos.get(1).getBalance());
         assertEquals("3333333333", accountDtos.get(2).getAccountNumber());
         assertEquals(3000, accountDtos.get(2).getBalance());
+        verify(accountListCache, times(1)).put(1L, 0L, accountDtos);
+    }
+
+    @Test
+    @DisplayName("계좌확인 - 캐시 적중 시 DB 조회 없음")
+    void successGetAccountsByUserId_CacheHit() {
+        //given
+        given(accountListCache.get(1L))
+                .willReturn(Optional.of(List.of(new AccountInfo("1111111111", 1000L))));
+
+        //when
+        List<AccountInfo> accountDtos = accountService.getAccountsByUserId(1L);
+
+        //then
+        verify(accountUserRepository, times(0)).existsById(anyLong());
+        verify(accountRepository, times(0)).findAccountInfos(anyLong(), any());
+        assertEquals(1, accountDtos.size());
+        assertEquals("1111111111", accountDtos.get(0).getAccountNumber());
     }
 
     @Test
     @DisplayName("계좌확인 - 실패 - 사용자 없는 경우")
     void failGetAccountsByUserId() {
         //given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         //when
         AccountException exception = assertThrows(AccountException.class, () -> accountService.getAccountsByUserId(1L));
@@ -0,0 +1,168 @@
+package zerobase.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zerobase.account.domain.Account;
+import zerobase.account.domain.AccountShard;
+import zerobase.account.dto.ShardedAccountInfo;
+import zerobase.account.exception.AccountException;
+import zerobase.account.repository.AccountRepository;
+import zerobase.account.repository.AccountShardRepository;
+import zerobase.account.type.ErrorCode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static zerobase.account.type.AccountStatus.IN_USE;
+
+@ExtendWith(MockitoExtension.class)
+class AccountShardServiceTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountShardRepository accountShardRepository;
+
+    @InjectMocks
+    private AccountShardService accountShardService;
+
+    private Account shardedAccount(int shardCount) {
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(0L)
+                .accountStatus(IN_USE)
+                .shardCount(shardCount)
+                .build();
+        account.setId(1L);
+        return account;
+    }
+
+    private AccountShard shard(int slot, long balance) {
+        return AccountShard.builder()
+                .slot(slot)
+                .balance(balance)
+                .build();
+    }
+
+    @Test
+    @DisplayName("잔액 분할 - slot 에 고르게 나눔")
+    @SuppressWarnings("unchecked")
+    void enableSplitsBalanceEvenly() {
+        //given
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(1003L)
+                .accountStatus(IN_USE)
+                .build();
+        account.setId(1L);
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountShardRepository.findAllForUpdate(anyLong()))
+                .willReturn(Collections.emptyList());
+        ArgumentCaptor<List<AccountShard>> captor = ArgumentCaptor.forClass(List.class);
+
+        //when
+        ShardedAccountInfo info = accountShardService.enable("1000000000", 4);
+
+        //then
+        verify(accountShardRepository, times(1)).saveAll(captor.capture());
+        assertEquals(4, captor.getValue().size());
+        assertEquals(1003L, captor.getValue().stream().mapToLong(AccountShard::getBalance).sum());
+        assertEquals(251L, captor.getValue().get(0).getBalance());
+        assertEquals(250L, captor.getValue().get(3).getBalance());
+        assertEquals(0L, account.getBalance());
+        assertEquals(4, account.getShardCount());
+        assertEquals(1003L, info.getBalance());
+        assertTrue(accountShardService.isSharded("1000000000"));
+    }
+
+    @Test
+    @DisplayName("잔액 분할 - 실패 - 잘못된 slot 수")
+    void enableFail_invalidShardCount() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountShardService.enable("1000000000", 1));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("분할 잔액 사용 - slot 하나에서 차감")
+    void useBalanceFromSingleSlot() {
+        //given
+        given(accountShardRepository.useBalanceIfEnough(anyLong(), anyInt(), anyLong(), any()))
+                .willReturn(1);
+
+        //when
+        accountShardService.useBalance(shardedAccount(4), 100L);
+
+        //then
+        verify(accountShardRepository, times(1)).useBalanceIfEnough(anyLong(), anyInt(), anyLong(), any());
+        verify(accountShardRepository, times(0)).findAllForUpdate(anyLong());
+    }
+
+    @Test
+    @DisplayName("분할 잔액 사용 - 모든 slot 이 부족하면 재분배 후 차감")
+    void rebalanceWhenEverySlotIsShort() {
+        //given
+        List<AccountShard> shards = Arrays.asList(shard(0, 60L), shard(1, 50L), shard(2, 40L));
+        given(accountShardRepository.useBalanceIfEnough(anyLong(), anyInt(), anyLong(), any()))
+                .willReturn(0);
+        given(accountShardRepository.findAllForUpdate(anyLong()))
+                .willReturn(shards);
+
+        //when
+        accountShardService.useBalance(shardedAccount(3), 100L);
+
+        //then
+        verify(accountShardRepository, times(3)).useBalanceIfEnough(anyLong(), anyInt(), anyLong(), any());
+        assertEquals(17L, shards.get(0).getBalance());
+        assertEquals(17L, shards.get(1).getBalance());
+        assertEquals(16L, shards.get(2).getBalance());
+    }
+
+    @Test
+    @DisplayName("분할 잔액 사용 - 실패 - 합계 부족")
+    void useBalanceFail_totalShort() {
+        //given
+        given(accountShardRepository.useBalanceIfEnough(anyLong(), anyInt(), anyLong(), any()))
+                .willReturn(0);
+        given(accountShardRepository.findAllForUpdate(anyLong()))
+                .willReturn(Arrays.asList(shard(0, 30L), shard(1, 30L)));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountShardService.useBalance(shardedAccount(2), 100L));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("분할 잔액 합계 - 계좌 행 잔액 포함")
+    void totalBalanceIncludesAccountRow() {
+        //given
+        Account account = shardedAccount(2);
+        account.setBalance(5L);
+        given(accountShardRepository.sumBalance(1L))
+                .willReturn(95L);
+
+        //when
+        //then
+        assertEquals(100L, accountShardService.getTotalBalance(account));
+    }
+}
@@ -0,0 +1,106 @@
+package zerobase.account.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+import static zerobase.account.type.TransactionType.CANCEL;
+import static zerobase.account.type.TransactionType.USE;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionSinkTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountRollupService accountRollupService;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FailedTransactionSink sink(boolean asyncEnabled, int queueCapacity) {
+        return new FailedTransactionSink(jdbcTemplate, transactionManager, transactionService,
+                accountRollupService, transactionIdGenerator,
+                meterRegistry, asyncEnabled, queueCapacity, 100, 10L);
+    }
+
+    @Test
+    @DisplayName("실패 거래 저장 - 종료 시 대기 중인 기록을 모두 저장")
+    void flushQueuedTransactionsOnStop() throws InterruptedException {
+        //given
+        AtomicInteger written = new AtomicInteger();
+        ArgumentCaptor<List<String>> transactionIds = ArgumentCaptor.forClass(List.class);
+        willAnswer(invocation -> {
+            written.addAndGet(invocation.<Collection<?>>getArgument(1).size());
+            return new int[0][];
+        }).given(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        FailedTransactionSink sink = sink(true, 100);
+        sink.start();
+
+        //when
+        sink.submit(USE, "1000000000", 1000L);
+        sink.submit(USE, "1000000000", 2000L);
+        sink.submit(CANCEL, "1000000001", 3000L);
+        sink.stop();
+
+        //then
+        assertEquals(3, written.get());
+        verify(accountRollupService, atLeastOnce()).recordAfterCommit(transactionIds.capture());
+        assertEquals(3, transactionIds.getAllValues().stream().mapToInt(List::size).sum());
+        verify(transactionManager, atLeastOnce()).commit(any());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    @DisplayName("실패 거래 저장 - 큐가 가득 차면 버리고 집계")
+    void dropWhenQueueIsFull() {
+        //given
+        FailedTransactionSink sink = sink(true, 1);
+
+        //when
+        sink.submit(USE, "1000000000", 1000L);
+        sink.submit(USE, "1000000000", 2000L);
+
+        //then
+        assertEquals(1.0, meterRegistry.counter("account.failed-transaction.dropped").count());
+        assertEquals(1.0, meterRegistry.get("account.failed-transaction.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("실패 거래 저장 - 비동기 저장이 꺼져 있으면 바로 저장")
+    void saveSynchronouslyWhenAsyncDisabled() {
+        //given
+        FailedTransactionSink sink = sink(false, 1);
+
+        //when
+        sink.submit(USE, "1000000000", 1000L);
+        sink.submit(CANCEL, "1000000001", 2000L);
+
+        //then
+        verify(transactionService).saveFailedTransaction(USE, "1000000000", 1000L);
+        verify(transactionService).saveFailedTransaction(CANCEL, "1000000001", 2000L);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
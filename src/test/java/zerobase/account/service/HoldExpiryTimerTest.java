@@ -0,0 +1,112 @@
+package zerobase.account.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import zerobase.account.domain.AccountHold;
+import zerobase.account.repository.AccountHoldRepository;
+import zerobase.account.type.HoldStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpiryTimerTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountHoldRepository accountHoldRepository;
+
+    private HoldExpiryTimer holdExpiryTimer;
+
+    @AfterEach
+    void tearDown() {
+        holdExpiryTimer.stop();
+    }
+
+    @Test
+    @DisplayName("예약 만료 - 만료 시각이 지난 뒤 만료")
+    void expireAfterDeadline() {
+        //given
+        holdExpiryTimer = new HoldExpiryTimer(transactionService, accountHoldRepository, 10L, 2, 500);
+
+        //when
+        holdExpiryTimer.onHoldReserved(new HoldReservedEvent("holdId", LocalDateTime.now().plusNanos(200_000_000L)));
+
+        //then
+        verify(transactionService, after(100).never()).expireHold("holdId");
+        verify(transactionService, timeout(1000)).expireHold("holdId");
+    }
+
+    @Test
+    @DisplayName("예약 만료 - 재시작 시 HELD 예약 다시 등록")
+    void rescheduleActiveHoldsOnStartup() {
+        //given
+        holdExpiryTimer = new HoldExpiryTimer(transactionService, accountHoldRepository, 10L, 2, 500);
+        given(accountHoldRepository.findByHoldStatus(HoldStatus.HELD))
+                .willReturn(Collections.singletonList(AccountHold.builder()
+                        .holdId("expiredWhileDown")
+                        .holdStatus(HoldStatus.HELD)
+                        .expiresAt(LocalDateTime.now().minusMinutes(1))
+                        .build()));
+
+        //when
+        holdExpiryTimer.rescheduleActiveHolds();
+
+        //then
+        verify(transactionService, timeout(1000)).expireHold("expiredWhileDown");
+        verify(transactionService, never()).expireHold("holdId");
+    }
+
+    @Test
+    @DisplayName("예약 만료 - timer 가 없는 만료 예약 sweep")
+    void sweepExpiredHoldsMissedByTimer() {
+        //given
+        holdExpiryTimer = new HoldExpiryTimer(transactionService, accountHoldRepository, 10L, 2, 500);
+        given(accountHoldRepository.findExpiredHoldIds(any(), eq(PageRequest.of(0, 500))))
+                .willReturn(Arrays.asList("orphan1", "orphan2"));
+
+        //when
+        holdExpiryTimer.sweepExpiredHolds();
+
+        //then
+        verify(transactionService, timeout(1000)).expireHold("orphan1");
+        verify(transactionService, timeout(1000)).expireHold("orphan2");
+    }
+
+    @Test
+    @DisplayName("예약 만료 - 느린 만료가 다른 만료를 막지 않음")
+    void slowExpiryDoesNotBlockTimerWheel() throws InterruptedException {
+        //given
+        holdExpiryTimer = new HoldExpiryTimer(transactionService, accountHoldRepository, 10L, 2, 500);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            release.await();
+            return null;
+        }).given(transactionService).expireHold("slow");
+
+        //when
+        holdExpiryTimer.schedule("slow", LocalDateTime.now());
+        holdExpiryTimer.schedule("fast", LocalDateTime.now().plusNanos(50_000_000L));
+
+        //then
+        verify(transactionService, timeout(1000)).expireHold("fast");
+        release.countDown();
+    }
+}
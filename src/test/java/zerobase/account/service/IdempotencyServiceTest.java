@@ -0,0 +1,188 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import zerobase.account.dto.UseBalance;
+import zerobase.account.exception.AccountException;
+import zerobase.account.type.ErrorCode;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static zerobase.account.type.TransactionResultType.S;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<Object> bucket;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(redissonClient, objectMapper, 86400L, 30L);
+        // 요청 지문 계산처럼 Redis 를 쓰지 않는 테스트도 있음
+        lenient().when(redissonClient.getBucket(anyString(), any())).thenReturn(bucket);
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 첫 요청은 처리 중으로 표시")
+    void firstRequest() {
+        //given
+        given(bucket.trySet(any(), anyLong(), any())).willReturn(true);
+
+        //when
+        Optional<UseBalance.Response> stored = idempotencyService.begin("use:key", "hash", UseBalance.Response.class);
+
+        //then
+        assertFalse(stored.isPresent());
+        verify(bucket).trySet(any(), eq(30L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 저장된 응답 재전송")
+    void replayStoredResponse() throws Exception {
+        //given
+        given(bucket.trySet(any(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(
+                IdempotencyService.IdempotencyRecord.builder()
+                        .completed(true)
+                        .requestHash("hash")
+                        .response(objectMapper.writeValueAsString(UseBalance.Response.builder()
+                                .accountNumber("1234567890")
+                                .transactionResult(S)
+                                .transactionId("transactionId")
+                                .amount(1000L)
+                                .build()))
+                        .build()));
+
+        //when
+        Optional<UseBalance.Response> stored = idempotencyService.begin("use:key", "hash", UseBalance.Response.class);
+
+        //then
+        assertTrue(stored.isPresent());
+        assertEquals("transactionId", stored.get().getTransactionId());
+        assertEquals(1000L, stored.get().getAmount());
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 저장된 오류 재전송")
+    void replayStoredError() throws Exception {
+        //given
+        given(bucket.trySet(any(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(
+                IdempotencyService.IdempotencyRecord.builder()
+                        .completed(true)
+                        .requestHash("hash")
+                        .errorCode(ErrorCode.AMOUNT_EXCEED_BALANCE)
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyService.begin("use:key", "hash", UseBalance.Response.class));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 실패 - 다른 요청에 같은 키 사용")
+    void rejectKeyReusedForDifferentRequest() throws Exception {
+        //given
+        given(bucket.trySet(any(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(
+                IdempotencyService.IdempotencyRecord.builder()
+                        .completed(true)
+                        .requestHash("otherHash")
+                        .response("{}")
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyService.begin("use:key", "hash", UseBalance.Response.class));
+
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 같은 요청은 같은 해시")
+    void sameHashForSameRequest() {
+        //given
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+
+        //when
+        String first = idempotencyService.hash(request);
+        String same = idempotencyService.hash(new UseBalance.Request(1L, "1234567890", 1000L));
+        String otherUser = idempotencyService.hash(new UseBalance.Request(2L, "1234567890", 1000L));
+
+        //then
+        assertEquals(first, same);
+        assertNotEquals(first, otherUser);
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 실패 - 처리 중인 요청과 중복")
+    void duplicateWhileInProgress() throws Exception {
+        //given
+        given(bucket.trySet(any(), anyLong(), any())).willReturn(false);
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(
+                IdempotencyService.IdempotencyRecord.builder()
+                        .completed(false)
+                        .requestHash("hash")
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> idempotencyService.begin("use:key", "hash", UseBalance.Response.class));
+
+        //then
+        assertEquals(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 오류 결과를 보관 시간과 함께 저장")
+    void storeErrorWithTtl() {
+        //given
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+
+        //when
+        idempotencyService.fail("use:key", "hash", ErrorCode.AMOUNT_EXCEED_BALANCE);
+
+        //then
+        verify(bucket).set(captor.capture(), eq(86400L), eq(TimeUnit.SECONDS));
+        assertTrue(captor.getValue().toString().contains("AMOUNT_EXCEED_BALANCE"));
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 일시적 오류는 저장하지 않고 키 해제")
+    void releaseKeyOnTransientError() {
+        //given
+        //when
+        idempotencyService.fail("use:key", "hash", ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+
+        //then
+        verify(bucket).delete();
+        verify(bucket, never()).set(any(), anyLong(), any());
+    }
+}
@@ -0,0 +1,53 @@
+package zerobase.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import zerobase.account.config.FaultInjectionProperties;
+import zerobase.account.type.InjectionPhase;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyInjectorTest {
+
+    @Test
+    @DisplayName("지연 주입 - 기본값은 꺼짐")
+    void disabledByDefault() {
+        //given
+        FaultInjectionProperties properties = propertiesWithRule(InjectionPhase.IN_LOCK, 1.0);
+        properties.setEnabled(false);
+        LatencyInjector latencyInjector = new LatencyInjector(properties);
+
+        //when
+        //then
+        assertDoesNotThrow(() -> latencyInjector.inject("use", InjectionPhase.IN_LOCK));
+    }
+
+    @Test
+    @DisplayName("지연 주입 - 설정한 구간에만 주입")
+    void injectOnlyConfiguredPhase() {
+        //given
+        FaultInjectionProperties properties = propertiesWithRule(InjectionPhase.IN_LOCK, 1.0);
+        LatencyInjector latencyInjector = new LatencyInjector(properties);
+
+        //when
+        //then
+        assertThrows(IllegalStateException.class,
+                () -> latencyInjector.inject("use", InjectionPhase.IN_LOCK));
+        assertDoesNotThrow(() -> latencyInjector.inject("use", InjectionPhase.BEFORE_LOCK));
+        assertDoesNotThrow(() -> latencyInjector.inject("cancel", InjectionPhase.IN_LOCK));
+    }
+
+    private FaultInjectionProperties propertiesWithRule(InjectionPhase phase, double failureRate) {
+        FaultInjectionProperties properties = new FaultInjectionProperties();
+        properties.setEnabled(true);
+        FaultInjectionProperties.Rule rule = new FaultInjectionProperties.Rule();
+        rule.setFailureRate(failureRate);
+        Map<InjectionPhase, FaultInjectionProperties.Rule> rules = new EnumMap<>(InjectionPhase.class);
+        rules.put(phase, rule);
+        properties.getRules().put("use", rules);
+        return properties;
+    }
+}
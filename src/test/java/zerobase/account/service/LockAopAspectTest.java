@@ -1,18 +1,30 @@
 package zerobase.account.service;
 
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import zerobase.account.aop.AccountLock;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.dto.Transfer;
 import zerobase.account.dto.UseBalance;
 import zerobase.account.exception.AccountException;
 import zerobase.account.type.ErrorCode;
+import zerobase.account.type.LockMode;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -21,12 +33,33 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Mock
+    private LockMetrics lockMetrics;
+
+    @Mock
+    private AccountLaneExecutor accountLaneExecutor;
+
+    @Mock
+    private LatencyInjector latencyInjector;
+
+    @Mock
+    private AccountShardService accountShardService;
+
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
     @InjectMocks
     private LockAopAspect lockAopAspect;
 
+    @AccountLock(name = "use", tryLockTime = 3000L, leaseTime = 10000L, failFast = true)
+    private void lockedMethod() {
+    }
+
+    private AccountLock accountLock() throws NoSuchMethodException {
+        return LockAopAspectTest.class.getDeclaredMethod("lockedMethod")
+                .getAnnotation(AccountLock.class);
+    }
+
     @Test
     void lockAndUnlock() throws Throwable {
         //given
@@ -34,10 +67,10 @@ class LockAopAspectTest {
         ArgumentCaptor<String> unlockArg = ArgumentCaptor.forClass(String.class);
         UseBalance.Request request = new UseBalance.Request(123L, "1234567890", 100L);
         //when
-        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
 
         //then
-        verify(lockService, times(1)).lock(lockArg.capture());
+        verify(lockService, times(1)).lock(lockArg.capture(), any());
         verify(lockService, times(1)).unlock(unlockArg.capture());
         assertEquals("1234567890", lockArg.getValue());
         assertEquals("1234567890", unlockArg.getValue());
@@ -53,12 +86,109 @@ class LockAopAspectTest {
                 .willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
         //when
         assertThrows(AccountException.class,
-                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
 
         //then
-        verify(lockService, times(1)).lock(lockArg.capture());
+        verify(lockService, times(1)).lock(lockArg.capture(), any());
         verify(lockService, times(1)).unlock(unlockArg.capture());
         assertEquals("1234567890", lockArg.getValue());
         assertEquals("1234567890", unlockArg.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("여러 계좌 락 - 정해진 순서로 취득")
+    void lockMultipleAccountsInOrder() throws Throwable {
+        //given
+        Transfer.Request request = new Transfer.Request(123L, "2000000000", "1000000000", 100L);
+        InOrder inOrder = inOrder(lockService);
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        inOrder.verify(lockService).lock(eq("1000000000"), any());
+        inOrder.verify(lockService).lock(eq("2000000000"), any());
+        inOrder.verify(lockService).unlock("2000000000");
+        inOrder.verify(lockService).unlock("1000000000");
+    }
+
+    @Test
+    @DisplayName("여러 계좌 락 - 두 번째 락 실패 시 취득한 락 해제")
+    void releaseAcquiredLocksWhenSecondLockFails() throws Throwable {
+        //given
+        Transfer.Request request = new Transfer.Request(123L, "2000000000", "1000000000", 100L);
+        willAnswer(invocation -> {
+            if ("2000000000".equals(invocation.getArgument(0))) {
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            return null;
+        }).given(lockService).lock(anyString(), any());
+
+        //when
+        assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request));
+
+        //then
+        verify(lockService, times(1)).unlock("1000000000");
+        verify(lockService, never()).unlock("2000000000");
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("락 정책 - 어노테이션의 대기/유지 시간 사용")
+    void lockWithAnnotationPolicy() throws Throwable {
+        //given
+        ArgumentCaptor<LockPolicy> policyArg = ArgumentCaptor.forClass(LockPolicy.class);
+        UseBalance.Request request = new UseBalance.Request(123L, "1234567890", 100L);
+        given(lockService.getPolicy(eq("use"), any()))
+                .willAnswer(invocation -> invocation.getArgument(1));
+
+        //when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        verify(lockService, times(1)).lock(eq("1234567890"), policyArg.capture());
+        assertEquals(3000L, policyArg.getValue().getTryLockTime());
+        assertEquals(10000L, policyArg.getValue().getLeaseTime());
+        assertEquals(0L, policyArg.getValue().getWaitTime());
+    }
+
+    @Test
+    @DisplayName("재시도 가능한 실패는 다시 실행")
+    void retryWhenRetryable() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(123L, "1234567890", 100L);
+        RuntimeException conflict = new RuntimeException("conflict");
+        given(proceedingJoinPoint.proceed())
+                .willThrow(conflict)
+                .willReturn("ok");
+        given(lockService.getMaxAttempts()).willReturn(3);
+        given(lockService.isRetryable(conflict)).willReturn(true);
+
+        //when
+        Object result = lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        assertEquals("ok", result);
+        verify(lockService, times(2)).lock(eq("1234567890"), any());
+        verify(lockService, times(2)).unlock("1234567890");
+    }
+
+    @Test
+    @DisplayName("LANE 모드 - 락 없이 lane 에서 실행")
+    void laneModeWithoutLock() throws Throwable {
+        //given
+        UseBalance.Request request = new UseBalance.Request(123L, "1234567890", 100L);
+        given(lockService.getMode()).willReturn(LockMode.LANE);
+        given(accountLaneExecutor.execute(eq("1234567890"), any()))
+                .willReturn("ok");
+
+        //when
+        Object result = lockAopAspect.aroundMethod(proceedingJoinPoint, accountLock(), request);
+
+        //then
+        assertEquals("ok", result);
+        verify(lockService, never()).lock(anyString(), any());
+        verify(lockService, never()).unlock(anyString());
+    }
+}
@@ -1,6 +1,9 @@
 package zerobase.account.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -9,13 +12,24 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import zerobase.account.aop.LockPolicy;
+import zerobase.account.config.LockProperties;
+import zerobase.account.domain.Account;
+import zerobase.account.dto.HotAccountInfo;
 import zerobase.account.dto.UseBalance;
 import zerobase.account.exception.AccountException;
 import zerobase.account.type.ErrorCode;
+import zerobase.account.type.LockMode;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -28,9 +42,26 @@ class LockServiceTest {
     @Mock
     private RLock lock;
 
-    @InjectMocks
+    private final LockProperties lockProperties = new LockProperties();
+
+    private final LocalStripedLock localStripedLock = new LocalStripedLock(lockProperties);
+
+    private LockMetrics lockMetrics;
+
     private LockService lockService;
 
+    @BeforeEach
+    void setUp() {
+        RedissonLockProvider redissonLockProvider = new RedissonLockProvider(redissonClient);
+        lockMetrics = new LockMetrics(new SimpleMeterRegistry(), lockProperties);
+        lockService = new LockService(lockProperties, lockMetrics, Arrays.asList(
+                redissonLockProvider,
+                new HybridLockProvider(localStripedLock, redissonLockProvider),
+                new OptimisticLockProvider(lockProperties),
+                new PessimisticLockProvider()
+        ));
+    }
+
     @Test
     void successGetLock() throws InterruptedException {
         //given
@@ -42,7 +73,7 @@ class LockServiceTest {
         //when
 
         //then
-        assertDoesNotThrow(() -> lockService.lock("123"));
+        assertDoesNotThrow(() -> lockService.lock("123", LockPolicy.DEFAULT));
     }
 
     @Test
@@ -54,9 +85,139 @@ class LockServiceTest {
                 .willReturn(false);
 
         //when
-        AccountException exception = assertThrows(AccountException.class, () -> lockService.lock("123"));
+        AccountException exception = assertThrows(AccountException.class, () -> lockService.lock("123", LockPolicy.DEFAULT));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        List<HotAccountInfo> hotAccounts = lockMetrics.getHotAccounts(10);
+        assertEquals(1, hotAccounts.size());
+        assertEquals("123", hotAccounts.get(0).getAccountNumber());
+        assertEquals(1, hotAccounts.get(0).getFailures());
+    }
+
+    @Test
+    @DisplayName("락 취득 - 실패 - Redis 오류")
+    void failGetLock_redisError() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any()))
+                .willThrow(new IllegalStateException("redis down"));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class, () -> lockService.lock("123", LockPolicy.DEFAULT));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("락 취득 - 실패 - 대기 중 인터럽트")
+    void failGetLock_interrupted() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any()))
+                .willThrow(new InterruptedException());
+
+        //when
+        AccountException exception = assertThrows(AccountException.class, () -> lockService.lock("123", LockPolicy.DEFAULT));
 
         //then
         assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    @DisplayName("락 취득 - HYBRID 모드 성공")
+    void successGetLock_hybrid() throws InterruptedException {
+        //given
+        lockProperties.setMode(LockMode.HYBRID);
+        given(redissonClient.getLock(anyString()))
+                .willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+
+        //when
+        lockService.lock("123", LockPolicy.DEFAULT);
+
+        //then
+        assertTrue(localStripedLock.isHeldByCurrentThread("123"));
+        lockService.unlock("123");
+        assertFalse(localStripedLock.isHeldByCurrentThread("123"));
+        verify(lock, times(1)).unlock();
+    }
+
+    @Test
+    @DisplayName("락 취득 - HYBRID 모드 실패 시 노드 내부 락 해제")
+    void failGetLock_hybridReleaseLocalLock() throws InterruptedException {
+        //given
+        lockProperties.setMode(LockMode.HYBRID);
+        given(redissonClient.getLock(anyString()))
+                .willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class, () -> lockService.lock("123", LockPolicy.DEFAULT));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertFalse(localStripedLock.isHeldByCurrentThread("123"));
+    }
+
+    @Test
+    @DisplayName("락 취득 - OPTIMISTIC 모드는 Redis 락 없음")
+    void optimisticNoRedisLock() {
+        //given
+        lockProperties.setMode(LockMode.OPTIMISTIC);
+
+        //when
+        lockService.lock("123", LockPolicy.DEFAULT);
+        lockService.unlock("123");
+
+        //then
+        verify(redissonClient, never()).getLock(anyString());
+        assertEquals(3, lockService.getMaxAttempts());
+        assertTrue(lockService.isRetryable(
+                new ObjectOptimisticLockingFailureException(Account.class, 1L)));
+        assertFalse(lockService.isRetryable(
+                new AccountException(ErrorCode.ACCOUNT_NOT_FOUND)));
+    }
+
+    @Test
+    @DisplayName("락 취득 - 대기 없이 바로 실패")
+    void failFastDoesNotWait() throws InterruptedException {
+        //given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(false);
+        LockPolicy lockPolicy = new LockPolicy(3000L, 10000L, true);
+
+        //when
+        assertThrows(AccountException.class, () -> lockService.lock("123", lockPolicy));
+
+        //then
+        verify(lock, times(1)).tryLock(0L, 10000L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("락 정책 - 설정값이 어노테이션 값을 덮어씀")
+    void policyOverriddenByProperties() {
+        //given
+        LockProperties.Policy override = new LockProperties.Policy();
+        override.setLeaseTime(10000L);
+        lockProperties.getPolicies().put("use", override);
+
+        //when
+        LockPolicy lockPolicy = lockService.getPolicy("use", LockPolicy.DEFAULT);
+        LockPolicy notOverridden = lockService.getPolicy("cancel", LockPolicy.DEFAULT);
+
+        //then
+        assertEquals(1000L, lockPolicy.getTryLockTime());
+        assertEquals(10000L, lockPolicy.getLeaseTime());
+        assertFalse(lockPolicy.isFailFast());
+        assertSame(LockPolicy.DEFAULT, notOverridden);
     }
-}
\ No newline at end of file
+}
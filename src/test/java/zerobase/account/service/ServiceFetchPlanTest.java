@@ -0,0 +1,148 @@
+package zerobase.account.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+import zerobase.account.config.LockProperties;
+import zerobase.account.domain.Account;
+import zerobase.account.domain.AccountUser;
+import zerobase.account.domain.Transaction;
+import zerobase.account.dto.AccountInfo;
+import zerobase.account.dto.TransactionDto;
+import zerobase.account.repository.AccountHoldRepository;
+import zerobase.account.repository.AccountRepository;
+import zerobase.account.repository.AccountUserRepository;
+import zerobase.account.repository.TransactionRepository;
+import zerobase.account.type.AccountStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static zerobase.account.repository.SqlStatementCounter.withinBudget;
+import static zerobase.account.type.TransactionResultType.S;
+import static zerobase.account.type.TransactionType.CANCEL;
+import static zerobase.account.type.TransactionType.USE;
+
+// 서비스 경로 전체의 SQL 예산 : 캐시/락/집계 등 DB 밖의 협력 객체는 가짜로 두고 실제 리포지토리로 실행
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=zerobase.account.repository.SqlStatementCounter")
+class ServiceFetchPlanTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountHoldRepository accountHoldRepository;
+
+    private TransactionService transactionService;
+
+    private AccountService accountService;
+
+    private AccountUser user;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionService(
+                transactionRepository,
+                accountRepository,
+                new LockProperties(),
+                mock(LatencyInjector.class),
+                () -> UUID.randomUUID().toString(),
+                mock(AccountShardService.class),
+                accountHoldRepository,
+                mock(ApplicationEventPublisher.class),
+                mock(TransactionCache.class),
+                mock(AccountListCache.class),
+                mock(AccountRollupService.class));
+        accountService = new AccountService(
+                accountRepository,
+                accountUserRepository,
+                mock(AccountNumberAllocator.class),
+                mock(AccountShardService.class),
+                mock(AccountListCache.class),
+                mock(TransactionTemplate.class));
+
+        user = entityManager.persist(AccountUser.builder().name("Pobi").build());
+        entityManager.persist(account("1000000008"));
+        entityManager.persist(account("1000000016"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 차감/계좌 조회/거래 저장 3번")
+    void useBalanceWithinBudget() {
+        //given
+        //when
+        TransactionDto transactionDto = withinBudget(3,
+                () -> transactionService.useBalance(user.getId(), "1000000008", 1000L));
+
+        //then
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 원거래/계좌/취소 여부 조회, 입금, 계좌 재조회, 거래 저장 6번")
+    void cancelBalanceWithinBudget() {
+        //given
+        Account account = accountRepository.findByAccountNumber("1000000008").get();
+        Transaction used = entityManager.persist(Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        TransactionDto transactionDto = withinBudget(6,
+                () -> transactionService.cancelBalance(used.getTransactionId(), "1000000008", 1000L));
+
+        //then
+        assertEquals(CANCEL, transactionDto.getTransactionType());
+        assertEquals(11000L, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("계좌 확인 - 캐시 미스 시 사용자 확인/계좌 목록 조회 2번")
+    void getAccountsByUserIdWithinBudget() {
+        //given
+        //when
+        List<AccountInfo> accountInfos = withinBudget(2,
+                () -> accountService.getAccountsByUserId(user.getId()));
+
+        //then
+        assertEquals(2, accountInfos.size());
+    }
+
+    private Account account(String accountNumber) {
+        return Account.builder()
+                .accountUser(user)
+                .accountNumber(accountNumber)
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .registeredAt(LocalDateTime.now())
+                .build();
+    }
+}
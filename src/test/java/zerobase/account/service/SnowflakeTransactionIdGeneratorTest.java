@@ -0,0 +1,120 @@
+package zerobase.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeTransactionIdGeneratorTest {
+
+    @Test
+    @DisplayName("거래 아이디 - 고정 길이, 시간 순서")
+    void idsAreFixedLengthAndOrdered() {
+        //given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(1L, false);
+
+        //when
+        String previous = generator.generate();
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.generate();
+
+            //then
+            assertEquals(16, next.length());
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("거래 아이디 - 시계가 되돌아가도 증가")
+    void monotonicWhenClockGoesBackward() {
+        //given
+        long[] now = {SnowflakeTransactionIdGenerator.EPOCH + 10_000L};
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(0L, false) {
+            @Override
+            long currentTimeMillis() {
+                return now[0];
+            }
+        };
+
+        //when
+        long first = generator.nextId();
+        now[0] -= 5_000L;
+        long second = generator.nextId();
+
+        //then
+        assertTrue(second > first);
+    }
+
+    @Test
+    @DisplayName("거래 아이디 - 순번을 다 쓰면 다음 ms 사용")
+    void borrowNextMillisWhenSequenceExhausted() {
+        //given
+        long now = SnowflakeTransactionIdGenerator.EPOCH + 10_000L;
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(0L, false) {
+            @Override
+            long currentTimeMillis() {
+                return now;
+            }
+        };
+
+        //when
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i <= SnowflakeTransactionIdGenerator.SEQUENCE_MASK + 1; i++) {
+            ids.add(generator.nextId());
+        }
+
+        //then
+        assertEquals(SnowflakeTransactionIdGenerator.SEQUENCE_MASK + 2, ids.size());
+    }
+
+    @Test
+    @DisplayName("거래 아이디 - 여러 스레드에서 중복 없음")
+    void uniqueAcrossThreads() throws InterruptedException {
+        //given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(3L, false);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ids.add(generator.generate());
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("거래 아이디 - 실패 - 범위를 벗어난 node-id")
+    void rejectInvalidNodeId() {
+        //given
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeTransactionIdGenerator(1024L, false));
+    }
+
+    @Test
+    @DisplayName("거래 아이디 - 실패 - 여러 서버인데 node-id 미지정")
+    void requireNodeIdOnMultiNode() {
+        //given
+        //when
+        //then
+        assertThrows(IllegalStateException.class,
+                () -> new SnowflakeTransactionIdGenerator(null, true));
+    }
+}
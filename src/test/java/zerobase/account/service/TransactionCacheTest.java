@@ -0,0 +1,118 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import zerobase.account.dto.TransactionDto;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static zerobase.account.type.TransactionResultType.S;
+import static zerobase.account.type.TransactionType.USE;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCacheTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<Object> bucket;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TransactionCache transactionCache;
+
+    @BeforeEach
+    void setUp() {
+        transactionCache = new TransactionCache(redissonClient, objectMapper, meterRegistry, 100L, 86400L);
+        given(redissonClient.getBucket(anyString(), any())).willReturn(bucket);
+    }
+
+    @Test
+    @DisplayName("거래 캐시 - 저장 후 로컬에서 조회")
+    void putThenGetFromLocal() {
+        //given
+        transactionCache.put(transactionDto());
+
+        //when
+        Optional<TransactionDto> cached = transactionCache.get("transactionId");
+
+        //then
+        assertTrue(cached.isPresent());
+        assertEquals(1000L, cached.get().getAmount());
+        verify(bucket).set(anyString(), eq(86400L), eq(TimeUnit.SECONDS));
+        verify(bucket, times(0)).get();
+    }
+
+    @Test
+    @DisplayName("거래 캐시 - 로컬에 없으면 Redis 조회")
+    void localMissFallsBackToRedis() throws Exception {
+        //given
+        given(bucket.get()).willReturn(objectMapper.writeValueAsString(transactionDto()));
+
+        //when
+        Optional<TransactionDto> first = transactionCache.get("transactionId");
+        Optional<TransactionDto> second = transactionCache.get("transactionId");
+
+        //then
+        assertTrue(first.isPresent());
+        assertEquals(S, first.get().getTransactionResultType());
+        assertTrue(second.isPresent());
+        verify(bucket, times(1)).get();
+        assertEquals(1.0, meterRegistry.get("account.transaction-cache.redis")
+                .tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("거래 캐시 - Redis 오류는 캐시 미스")
+    void redisFailureIsMiss() {
+        //given
+        given(bucket.get()).willThrow(new IllegalStateException("redis down"));
+
+        //when
+        Optional<TransactionDto> cached = transactionCache.get("transactionId");
+
+        //then
+        assertFalse(cached.isPresent());
+    }
+
+    @Test
+    @DisplayName("거래 캐시 - 트랜잭션 밖에서는 바로 저장")
+    void putAfterCommitOutsideTransaction() {
+        //given
+        //when
+        transactionCache.putAfterCommit(transactionDto());
+
+        //then
+        assertTrue(transactionCache.get("transactionId").isPresent());
+    }
+
+    private TransactionDto transactionDto() {
+        return TransactionDto.builder()
+                .accountNumber("1000000012")
+                .transactionType(USE)
+                .transactionResultType(S)
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
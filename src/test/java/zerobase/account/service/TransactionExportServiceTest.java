@@ -0,0 +1,130 @@
+package zerobase.account.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import zerobase.account.domain.Account;
+import zerobase.account.domain.AccountUser;
+import zerobase.account.domain.Transaction;
+import zerobase.account.dto.TransactionDto;
+import zerobase.account.exception.AccountException;
+import zerobase.account.repository.AccountRepository;
+import zerobase.account.type.AccountStatus;
+import zerobase.account.type.ErrorCode;
+import zerobase.account.type.ExportFormat;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zerobase.account.type.TransactionResultType.S;
+import static zerobase.account.type.TransactionType.USE;
+
+@DataJpaTest
+class TransactionExportServiceTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private TransactionExportService transactionExportService;
+
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        // fetch size 보다 많은 거래로 여러 번 나눠 읽는 경우 확인
+        transactionExportService = new TransactionExportService(
+                new JdbcTemplate(dataSource), transactionManager, accountRepository, objectMapper, 2);
+
+        AccountUser user = entityManager.persist(AccountUser.builder().name("Pobi").build());
+        Account account = entityManager.persist(Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000008")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .build());
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Transaction.builder()
+                    .account(account)
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .amount(100L)
+                    .balanceSnapshot(10000L - 100L * (i + 1))
+                    .transactionId("transactionId" + i)
+                    .transactedAt(BASE.plusDays(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        accountId = account.getId();
+    }
+
+    @Test
+    @DisplayName("거래 원장 내보내기 - CSV")
+    void exportCsv() throws Exception {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        transactionExportService.export(accountId, "1000000008", null, null, ExportFormat.CSV, outputStream);
+
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(6, lines.length);
+        assertTrue(lines[0].startsWith("transaction_id,"));
+        assertEquals("transactionId0,1000000008,USE,S,100,9900," + BASE, lines[1]);
+        assertTrue(lines[5].startsWith("transactionId4,"));
+    }
+
+    @Test
+    @DisplayName("거래 원장 내보내기 - 기간 내 NDJSON")
+    void exportNdjsonWithinRange() throws Exception {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        transactionExportService.export(accountId, "1000000008",
+                BASE.plusDays(1), BASE.plusDays(3), ExportFormat.NDJSON, outputStream);
+
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        TransactionDto first = objectMapper.readValue(lines[0], TransactionDto.class);
+        assertEquals("transactionId1", first.getTransactionId());
+        assertEquals(9800L, first.getBalanceSnapshot());
+        assertEquals("transactionId2", objectMapper.readValue(lines[1], TransactionDto.class).getTransactionId());
+    }
+
+    @Test
+    @DisplayName("거래 원장 내보내기 - 실패 - 잘못된 기간")
+    void invalidRange() {
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionExportService.getAccountId("1000000008", BASE.plusDays(1), BASE));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+}
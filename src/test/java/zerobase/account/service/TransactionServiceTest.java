@@ -6,18 +6,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import zerobase.account.config.LockProperties;
 import zerobase.account.domain.Account;
+import zerobase.account.domain.AccountHold;
 import zerobase.account.domain.AccountUser;
 import zerobase.account.domain.Transaction;
+import zerobase.account.dto.AccountOwnerDto;
+import zerobase.account.dto.HoldDto;
+import zerobase.account.dto.PointInTimeBalance;
 import zerobase.account.dto.TransactionDto;
+import zerobase.account.dto.TransactionPageDto;
 import zerobase.account.exception.AccountException;
+import zerobase.account.repository.AccountHoldRepository;
 import zerobase.account.repository.AccountRepository;
-import zerobase.account.repository.AccountUserRepository;
 import zerobase.account.repository.TransactionRepository;
 import zerobase.account.type.ErrorCode;
+import zerobase.account.type.HoldStatus;
+import zerobase.account.type.LockMode;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +43,8 @@ import static zerobase.account.type.AccountStatus.UNREGISTERED;
 import static zerobase.account.type.TransactionResultType.F;
 import static zerobase.account.type.TransactionResultType.S;
 import static zerobase.account.type.TransactionType.CANCEL;
+import static zerobase.account.type.TransactionType.TRANSFER_IN;
+import static zerobase.account.type.TransactionType.TRANSFER_OUT;
 import static zerobase.account.type.TransactionType.USE;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,8 +57,32 @@ class TransactionServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Spy
+    private LockProperties lockProperties = new LockProperties();
+
+    @Mock
+    private LatencyInjector latencyInjector;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private AccountShardService accountShardService;
+
+    @Mock
+    private AccountHoldRepository accountHoldRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private TransactionCache transactionCache;
+
+    @Mock
+    private AccountListCache accountListCache;
+
     @Mock
-    private AccountUserRepository accountUserRepository;
+    private AccountRollupService accountRollupService;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -65,15 +104,16 @@ class TransactionServiceTest {
                 .name("Pobi")
                 .build();
         user.setId(10L);
+        // 조건부 UPDATE 로 차감된 뒤 다시 읽은 계좌
         Account account = Account.builder()
                 .accountUser(user)
                 .accountNumber("1234567890")
-                .balance(10000L)
+                .balance(10000L - USE_AMOUNT)
                 .accountStatus(IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountRepository.useBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any()))
+                .willReturn(1);
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
         given(transactionRepository.save(any()))
@@ -92,20 +132,156 @@ class TransactionServiceTest {
         TransactionDto transactionDto = transactionService.useBalance(1L, "1234567890", USE_AMOUNT);
 
         //then
+        verify(accountRepository, times(0)).findAccountOwner(anyLong(), anyString());
         verify(transactionRepository, times(1)).save(captor.capture());
         assertEquals(USE_AMOUNT, captor.getValue().getAmount());
         assertEquals(9800L, captor.getValue().getBalanceSnapshot());
+        assertFalse(captor.getValue().getApproximateSnapshot());
         assertEquals(S, transactionDto.getTransactionResultType());
         assertEquals(USE, transactionDto.getTransactionType());
         assertEquals(9000L, transactionDto.getBalanceSnapshot());
         assertEquals(1000L, transactionDto.getAmount());
     }
 
+    @Test
+    @DisplayName("잔액 사용 - 성공 - 분할 잔액 계좌")
+    void successUseBalance_sharded(){
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(1L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .balance(0L)
+                .accountStatus(IN_USE)
+                .shardCount(4)
+                .build();
+
+        given(accountShardService.isSharded(anyString()))
+                .willReturn(true);
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(1L, account)));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountShardService.getTotalBalance(any()))
+                .willReturn(10000L, 10000L - USE_AMOUNT);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(1L, "1234567890", USE_AMOUNT);
+
+        //then
+        verify(accountShardService, times(1)).useBalance(account, USE_AMOUNT);
+        verify(accountRepository, times(0)).useBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any());
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertTrue(captor.getValue().getApproximateSnapshot());
+        assertEquals(S, transactionDto.getTransactionResultType());
+        assertEquals(10000L - USE_AMOUNT, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 성공 - 비관적 락 모드는 FOR UPDATE 로 조회한 계좌에서 차감")
+    void successUseBalance_pessimistic(){
+        //given
+        lockProperties.setMode(LockMode.PESSIMISTIC);
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(1L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .balance(10000L)
+                .heldAmount(0L)
+                .accountStatus(IN_USE)
+                .build();
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(1L, account)));
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        TransactionDto transactionDto = transactionService.useBalance(1L, "1234567890", USE_AMOUNT);
+
+        //then
+        verify(accountRepository, times(0)).useBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any());
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+        assertEquals(10000L - USE_AMOUNT, account.getBalance());
+        assertEquals(10000L - USE_AMOUNT, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 성공 - 낙관적 락 모드는 잠그지 않고 조회한 계좌에서 차감 (@Version 으로 충돌 감지)")
+    void successUseBalance_optimistic(){
+        //given
+        lockProperties.setMode(LockMode.OPTIMISTIC);
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(1L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .balance(10000L)
+                .heldAmount(0L)
+                .accountStatus(IN_USE)
+                .build();
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(1L, account)));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        transactionService.useBalance(1L, "1234567890", USE_AMOUNT);
+
+        //then
+        verify(accountRepository, times(0)).useBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any());
+        verify(accountRepository, times(0)).findByAccountNumberForUpdate(anyString());
+        assertEquals(10000L - USE_AMOUNT, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 실패 - 검증 후 다른 거래로 잔액이 줄어 차감되지 않은 경우")
+    void useBalanceFail_notUpdated(){
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(10L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .balance(10000L)
+                .accountStatus(IN_USE)
+                .build();
+
+        given(accountRepository.useBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any()))
+                .willReturn(0);
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(10L, account)));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(10L, "1234567890", USE_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
     @Test
     @DisplayName("잔액 사용 - 실패 - 사용자 없는 경우")
     void useBalanceFail_UserNotFound(){
         //given
-        given(accountUserRepository.findById(anyLong()))
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
                 .willReturn(Optional.empty());
 
         //when
@@ -116,6 +292,23 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("잔액 사용 - 실패 - 계좌가 없는 경우")
+    void useBalanceFail_AccountNotFound(){
+        //given
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(AccountOwnerDto.builder()
+                        .userId(1L)
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1234567890", USE_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
     @Test
     @DisplayName("잔액 사용 - 실패 - 사용자 아이디와 계좌 소유주가 다른 경우")
     void useBalanceFail_userUnMatch(){
@@ -135,10 +328,8 @@ class TransactionServiceTest {
                 .accountStatus(IN_USE)
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(pobi.getId(), account)));
 
         //when
         AccountException exception = assertThrows(AccountException.class,
@@ -156,16 +347,14 @@ class TransactionServiceTest {
                 .name("Pobi")
                 .build();
         pobi.setId(13L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
         Account account = Account.builder()
                 .accountUser(pobi)
                 .accountNumber("1234567890")
                 .balance(10000L)
                 .accountStatus(UNREGISTERED)
                 .build();
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(pobi.getId(), account)));
 
         //when
         AccountException exception = assertThrows(AccountException.class,
@@ -183,16 +372,14 @@ class TransactionServiceTest {
                 .name("Pobi")
                 .build();
         pobi.setId(14L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
         Account account = Account.builder()
                 .accountUser(pobi)
                 .accountNumber("1234567890")
                 .balance(100L)
                 .accountStatus(IN_USE)
                 .build();
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(pobi.getId(), account)));
 
         //when
         AccountException exception = assertThrows(AccountException.class,
@@ -211,16 +398,14 @@ class TransactionServiceTest {
                 .name("Pobi")
                 .build();
         pobi.setId(15L);
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(pobi));
         Account account = Account.builder()
                 .accountUser(pobi)
                 .accountNumber("1234567890")
                 .balance(100L)
                 .accountStatus(IN_USE)
                 .build();
-        given(accountRepository.findByAccountNumber(anyString()))
-                .willReturn(Optional.of(account));
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(pobi.getId(), account)));
         //when
 
         //then
@@ -230,6 +415,292 @@ class TransactionServiceTest {
         verify(transactionRepository, times(0)).save(any());
     }
 
+    @Test
+    @DisplayName("계좌 이체 - 성공")
+    void successTransfer(){
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(1L);
+        Account from = Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000000")
+                .balance(10000L - USE_AMOUNT)
+                .accountStatus(IN_USE)
+                .build();
+        from.setId(1L);
+        Account to = Account.builder()
+                .accountUser(user)
+                .accountNumber("2000000000")
+                .balance(500L)
+                .accountStatus(IN_USE)
+                .build();
+        to.setId(2L);
+        given(accountRepository.findByAccountNumber("2000000000"))
+                .willReturn(Optional.of(to));
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(from));
+        given(accountRepository.useBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any()))
+                .willReturn(1);
+        given(accountRepository.addBalance(eq(2L), anyLong(), any()))
+                .willReturn(1);
+        given(accountRepository.findById(2L))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("2000000000")
+                        .balance(500L + USE_AMOUNT)
+                        .accountStatus(IN_USE)
+                        .build()));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        //when
+        TransactionDto transactionDto = transactionService.transfer(1L, "1000000000", "2000000000", USE_AMOUNT);
+
+        //then
+        verify(transactionRepository, times(2)).save(captor.capture());
+        assertEquals(TRANSFER_OUT, captor.getAllValues().get(0).getTransactionType());
+        assertEquals(10000L - USE_AMOUNT, captor.getAllValues().get(0).getBalanceSnapshot());
+        assertEquals(TRANSFER_IN, captor.getAllValues().get(1).getTransactionType());
+        assertEquals(500L + USE_AMOUNT, captor.getAllValues().get(1).getBalanceSnapshot());
+        assertEquals(TRANSFER_OUT, transactionDto.getTransactionType());
+        assertEquals("1000000000", transactionDto.getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("계좌 이체 - 실패 - 같은 계좌로 이체하는 경우")
+    void transferFail_sameAccount(){
+        //given
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(1L, "1000000000", "1000000000", USE_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.TRANSFER_TO_SAME_ACCOUNT, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("계좌 이체 - 실패 - 입금 계좌가 해지된 경우 출금하지 않음")
+    void transferFail_toAccountUnregistered(){
+        //given
+        given(accountRepository.findByAccountNumber("2000000000"))
+                .willReturn(Optional.of(Account.builder()
+                        .accountNumber("2000000000")
+                        .balance(0L)
+                        .accountStatus(UNREGISTERED)
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transfer(1L, "1000000000", "2000000000", USE_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED, exception.getErrorCode());
+        verify(accountRepository, times(0)).useBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("잔액 예약 - 성공")
+    void successHoldBalance(){
+        //given
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(10000L)
+                .heldAmount(USE_AMOUNT)
+                .accountStatus(IN_USE)
+                .build();
+        given(accountRepository.holdBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any()))
+                .willReturn(1);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionIdGenerator.generate())
+                .willReturn("holdId");
+        given(accountHoldRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<HoldReservedEvent> captor = ArgumentCaptor.forClass(HoldReservedEvent.class);
+
+        //when
+        HoldDto holdDto = transactionService.holdBalance(1L, "1000000000", USE_AMOUNT);
+
+        //then
+        verify(applicationEventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals("holdId", captor.getValue().getHoldId());
+        assertEquals("holdId", holdDto.getHoldId());
+        assertEquals(HoldStatus.HELD, holdDto.getHoldStatus());
+        assertEquals(USE_AMOUNT, holdDto.getAmount());
+    }
+
+    @Test
+    @DisplayName("잔액 예약 - 실패 - 예약 금액을 뺀 잔액이 부족한 경우")
+    void holdBalanceFail_availableBalanceShort(){
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(1L);
+        given(accountRepository.holdBalanceIfEnough(anyLong(), anyString(), anyLong(), any(), any()))
+                .willReturn(0);
+        given(accountRepository.findAccountOwner(anyLong(), anyString()))
+                .willReturn(Optional.of(owner(1L, Account.builder()
+                        .accountUser(user)
+                        .accountNumber("1000000000")
+                        .balance(1000L)
+                        .heldAmount(900L)
+                        .accountStatus(IN_USE)
+                        .build())));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.holdBalance(1L, "1000000000", USE_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(accountHoldRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("예약 확정 - 성공")
+    void successCaptureHold(){
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(1L);
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000000")
+                .balance(10000L - USE_AMOUNT)
+                .accountStatus(IN_USE)
+                .build();
+        account.setId(1L);
+        given(accountHoldRepository.captureIfActive(eq("holdId"), any()))
+                .willReturn(1);
+        given(accountHoldRepository.findByHoldId("holdId"))
+                .willReturn(Optional.of(AccountHold.builder()
+                        .account(account)
+                        .holdId("holdId")
+                        .amount(USE_AMOUNT)
+                        .holdStatus(HoldStatus.CAPTURED)
+                        .build()));
+        given(accountRepository.findById(1L))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        TransactionDto transactionDto = transactionService.captureHold(1L, "1000000000", "holdId");
+
+        //then
+        verify(accountRepository, times(1)).captureHeldBalance(eq(1L), eq(USE_AMOUNT), any());
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(S, transactionDto.getTransactionResultType());
+        assertEquals(10000L - USE_AMOUNT, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("예약 확정 - 실패 - 이미 해제된 예약")
+    void captureHoldFail_alreadyReleased(){
+        //given
+        AccountUser user = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        user.setId(1L);
+        given(accountHoldRepository.captureIfActive(eq("holdId"), any()))
+                .willReturn(0);
+        given(accountHoldRepository.findByHoldId("holdId"))
+                .willReturn(Optional.of(AccountHold.builder()
+                        .account(Account.builder()
+                                .accountUser(user)
+                                .accountNumber("1000000000")
+                                .build())
+                        .holdId("holdId")
+                        .amount(USE_AMOUNT)
+                        .holdStatus(HoldStatus.RELEASED)
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.captureHold(1L, "1000000000", "holdId"));
+
+        //then
+        assertEquals(ErrorCode.HOLD_ALREADY_COMPLETED, exception.getErrorCode());
+        verify(accountRepository, times(0)).captureHeldBalance(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("예약 확정 - 실패 - 예약한 사용자가 아님")
+    void captureHoldFail_userUnMatch(){
+        //given
+        AccountUser owner = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        owner.setId(1L);
+        given(accountHoldRepository.findByHoldId("holdId"))
+                .willReturn(Optional.of(AccountHold.builder()
+                        .account(Account.builder()
+                                .accountUser(owner)
+                                .accountNumber("1000000000")
+                                .build())
+                        .holdId("holdId")
+                        .amount(USE_AMOUNT)
+                        .holdStatus(HoldStatus.HELD)
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.captureHold(2L, "1000000000", "holdId"));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+        verify(accountHoldRepository, times(0)).captureIfActive(anyString(), any());
+        verify(accountRepository, times(0)).captureHeldBalance(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("예약 해제 - 실패 - 다른 계좌의 예약")
+    void releaseHoldFail_accountUnMatch(){
+        //given
+        AccountUser owner = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        owner.setId(1L);
+        given(accountHoldRepository.findByHoldId("holdId"))
+                .willReturn(Optional.of(AccountHold.builder()
+                        .account(Account.builder()
+                                .accountUser(owner)
+                                .accountNumber("1000000000")
+                                .build())
+                        .holdId("holdId")
+                        .amount(USE_AMOUNT)
+                        .holdStatus(HoldStatus.HELD)
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.releaseHold(1L, "1000000012", "holdId"));
+
+        //then
+        assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, exception.getErrorCode());
+        verify(accountHoldRepository, times(0)).releaseIfHeld(anyString(), any());
+        verify(accountRepository, times(0)).releaseHeldBalance(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("예약 만료 - 이미 확정된 예약은 그대로 둠")
+    void expireHold_alreadyCaptured(){
+        //given
+        given(accountHoldRepository.expireIfDue(eq("holdId"), any()))
+                .willReturn(0);
+
+        //when
+        transactionService.expireHold("holdId");
+
+        //then
+        verify(accountRepository, times(0)).releaseHeldBalance(anyLong(), anyLong(), any());
+    }
+
     /**
      * 잔액 사용 취소
      * 1. 성공
@@ -265,8 +736,18 @@ class TransactionServiceTest {
                 .build();
         given(transactionRepository.findByTransactionId(anyString()))
                 .willReturn(Optional.of(transaction));
+        given(accountRepository.addBalance(any(), anyLong(), any()))
+                .willReturn(1);
+        // 원자적 증가 후 다시 읽은 계좌
+        given(accountRepository.findById(any()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(pobi)
+                        .accountNumber("1234567890")
+                        .balance(10000L + CANCEL_AMOUNT)
+                        .accountStatus(IN_USE)
+                        .build()));
 
-        given(transactionRepository.save(any()))
+        given(transactionRepository.saveAndFlush(any()))
                 .willReturn(Transaction.builder()
                         .account(account)
                         .transactionType(CANCEL)
@@ -284,7 +765,7 @@ class TransactionServiceTest {
         TransactionDto transactionDto = transactionService.cancelBalance("transactionId", "1234567890", CANCEL_AMOUNT);
 
         //then
-        verify(transactionRepository, times(1)).save(captor.capture());
+        verify(transactionRepository, times(1)).saveAndFlush(captor.capture());
         assertEquals(CANCEL_AMOUNT, captor.getValue().getAmount());
         assertEquals(10000L + CANCEL_AMOUNT, captor.getValue().getBalanceSnapshot());
         assertEquals(S, transactionDto.getTransactionResultType());
@@ -294,20 +775,67 @@ class TransactionServiceTest {
     }
 
     @Test
-    @DisplayName("잔액 사용 취소 - 실패 - 원거래 금액과 취소 금액이 다른 경우")
-    void cancelBalanceFail_cancelMustFully(){
+    @DisplayName("잔액 사용 취소 - 성공 - 비관적 락 모드는 FOR UPDATE 로 계좌 조회")
+    void successCancelBalance_pessimistic(){
         //given
+        lockProperties.setMode(LockMode.PESSIMISTIC);
         AccountUser pobi = AccountUser.builder()
                 .name("Pobi")
                 .build();
-        pobi.setId(17L);
+        pobi.setId(16L);
         Account account = Account.builder()
                 .accountUser(pobi)
                 .accountNumber("1234567890")
                 .balance(10000L)
                 .accountStatus(IN_USE)
                 .build();
-        given(accountRepository.findByAccountNumber(anyString()))
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(account)
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .transactedAt(LocalDateTime.now())
+                        .amount(CANCEL_AMOUNT)
+                        .balanceSnapshot(9000L)
+                        .build()));
+        given(accountRepository.addBalance(any(), anyLong(), any()))
+                .willReturn(1);
+        given(accountRepository.findById(any()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(pobi)
+                        .accountNumber("1234567890")
+                        .balance(10000L + CANCEL_AMOUNT)
+                        .accountStatus(IN_USE)
+                        .build()));
+        given(transactionRepository.saveAndFlush(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        TransactionDto transactionDto = transactionService.cancelBalance("transactionId", "1234567890", CANCEL_AMOUNT);
+
+        //then
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+        assertEquals(10000L + CANCEL_AMOUNT, transactionDto.getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 실패 - 원거래 금액과 취소 금액이 다른 경우")
+    void cancelBalanceFail_cancelMustFully(){
+        //given
+        AccountUser pobi = AccountUser.builder()
+                .name("Pobi")
+                .build();
+        pobi.setId(17L);
+        Account account = Account.builder()
+                .accountUser(pobi)
+                .accountNumber("1234567890")
+                .balance(10000L)
+                .accountStatus(IN_USE)
+                .build();
+        given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
         Transaction transaction = Transaction.builder()
                 .account(account)
@@ -376,6 +904,107 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("잔액 사용 취소 - 실패 - 잔액 사용 거래가 아닌 경우")
+    void cancelBalanceFail_notUseTransaction(){
+        //given
+        Account account = Account.builder()
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(account)
+                        .transactionType(TRANSFER_OUT)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .transactedAt(LocalDateTime.now())
+                        .amount(CANCEL_AMOUNT)
+                        .balanceSnapshot(9000L)
+                        .build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", CANCEL_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.CANCEL_ONLY_USE_TRANSACTION, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 실패 - 이미 취소된 거래인 경우")
+    void cancelBalanceFail_alreadyCancelled(){
+        //given
+        Account account = Account.builder()
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(CANCEL_AMOUNT)
+                .balanceSnapshot(9000L)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.existsByCancelledTransaction(transaction))
+                .willReturn(true);
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", CANCEL_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED, exception.getErrorCode());
+        verify(accountRepository, times(0)).addBalance(any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 실패 - 동시에 취소되어 unique 제약을 위반한 경우")
+    void cancelBalanceFail_concurrentlyCancelled(){
+        //given
+        Account account = Account.builder()
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        account.setId(1L);
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .amount(CANCEL_AMOUNT)
+                .balanceSnapshot(9000L)
+                .build();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountRepository.addBalance(any(), anyLong(), any()))
+                .willReturn(1);
+        given(accountRepository.findById(any()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("duplicate cancelled_transaction_id"));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1000000012", CANCEL_AMOUNT));
+
+        //then
+        assertEquals(ErrorCode.TRANSACTION_ALREADY_CANCELLED, exception.getErrorCode());
+    }
+
     @Test
     @DisplayName("잔액 사용 취소 - 실패 - 트랜잭션이 없는 경우")
     void cancelBalanceFail_transactionNotFound(){
@@ -434,24 +1063,12 @@ class TransactionServiceTest {
     @DisplayName("거래 확인 - 성공")
     void successQueryTransaction(){
         //given
-        AccountUser user = AccountUser.builder()
-                .name("Pobi").build();
-        Account account = Account.builder()
-                .accountUser(user)
-                .accountStatus(IN_USE)
-                .balance(10000L)
-                .accountNumber("1234567890").build();
-        Transaction transaction = Transaction.builder()
-                .account(account)
-                .transactionType(USE)
-//                .transactionResultType(S)
-                .transactionResultType(F)
-                .transactionId("transactionId")
-                .transactedAt(LocalDateTime.now())
-                .amount(CANCEL_AMOUNT)
-                .balanceSnapshot(9000L).build();
-        given(transactionRepository.findByTransactionId(anyString()))
-                .willReturn(Optional.of(transaction));
+        given(transactionRepository.findDtoByTransactionId(anyString()))
+                .willReturn(Optional.of(new TransactionDto(
+                        "1234567890", USE,
+//                        S,
+                        F,
+                        CANCEL_AMOUNT, 9000L, "transactionId", LocalDateTime.now())));
 
         //when
         TransactionDto transactionDto = transactionService.queryTransaction("trxId");
@@ -468,7 +1085,7 @@ class TransactionServiceTest {
     @DisplayName("거래호 확인 - 실패 - 해당 transaction_id 없는 경우")
     void queryTransactionFail_TransactionNotFound(){
         //given
-        given(transactionRepository.findByTransactionId(anyString()))
+        given(transactionRepository.findDtoByTransactionId(anyString()))
                 .willReturn(Optional.empty());
 
         //when
@@ -479,6 +1096,27 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("거래 확인 - 캐시 적중 시 DB 조회 없음")
+    void queryTransaction_CacheHit() {
+        //given
+        given(transactionCache.get("transactionId"))
+                .willReturn(Optional.of(TransactionDto.builder()
+                        .transactionId("transactionId")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(CANCEL_AMOUNT)
+                        .build()));
+
+        //when
+        TransactionDto transactionDto = transactionService.queryTransaction("transactionId");
+
+        //then
+        verify(transactionRepository, times(0)).findDtoByTransactionId(anyString());
+        assertEquals("transactionId", transactionDto.getTransactionId());
+        assertEquals(S, transactionDto.getTransactionResultType());
+    }
+
     @Test
     @DisplayName("실패 트랜잭션 저장 성공")
     void saveFailedUseTransaction() {
@@ -506,7 +1144,7 @@ class TransactionServiceTest {
         ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
 
         //when
-        transactionService.saveFailedUseTransaction("1000000000", USE_AMOUNT);
+        transactionService.saveFailedTransaction(USE, "1000000000", USE_AMOUNT);
 
         //then
         verify(transactionRepository, times(1)).save(captor.capture());
@@ -514,4 +1152,259 @@ class TransactionServiceTest {
         assertEquals(10000L, captor.getValue().getBalanceSnapshot());
         assertEquals(F, captor.getValue().getTransactionResultType());
     }
-}
\ No newline at end of file
+
+    private Transaction historyTransaction(Account account, Long id, LocalDateTime transactedAt) {
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionId" + id)
+                .transactedAt(transactedAt)
+                .amount(USE_AMOUNT)
+                .balanceSnapshot(9000L)
+                .build();
+        transaction.setId(id);
+        return transaction;
+    }
+
+    @Test
+    @DisplayName("거래 내역 조회 - 다음 페이지 커서로 이어서 조회")
+    void getTransactionHistory_keyset(){
+        //given
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(10000L)
+                .accountStatus(IN_USE)
+                .build();
+        account.setId(1L);
+        LocalDateTime now = LocalDateTime.now();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findHistory(eq(1L), eq(USE), isNull(), any()))
+                .willReturn(Arrays.asList(
+                        historyTransaction(account, 3L, now),
+                        historyTransaction(account, 2L, now.minusSeconds(1)),
+                        historyTransaction(account, 1L, now.minusSeconds(2))));
+        given(transactionRepository.findHistoryBefore(eq(1L), any(), anyLong(), eq(USE), isNull(), any()))
+                .willReturn(Collections.singletonList(historyTransaction(account, 1L, now.minusSeconds(2))));
+        ArgumentCaptor<LocalDateTime> transactedAtCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<Long> idCaptor = ArgumentCaptor.forClass(Long.class);
+
+        //when
+        TransactionPageDto first = transactionService.getTransactionHistory("1000000000", USE, null, null, 2);
+        TransactionPageDto second = transactionService.getTransactionHistory("1000000000", USE, null, first.getNextCursor(), 2);
+
+        //then
+        assertEquals(2, first.getTransactions().size());
+        assertEquals("transactionId3", first.getTransactions().get(0).getTransactionId());
+        assertNotNull(first.getNextCursor());
+        verify(transactionRepository).findHistoryBefore(eq(1L), transactedAtCaptor.capture(), idCaptor.capture(),
+                eq(USE), isNull(), any());
+        assertEquals(now.minusSeconds(1), transactedAtCaptor.getValue());
+        assertEquals(2L, idCaptor.getValue());
+        assertEquals(1, second.getTransactions().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("거래 내역 조회 - 실패 - 잘못된 커서")
+    void getTransactionHistoryFail_invalidCursor(){
+        //given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountNumber("1000000000")
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.getTransactionHistory("1000000000", null, null, "not-a-cursor", 20));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("시점 잔액 - at 이전 마지막 성공 거래의 스냅샷")
+    void getBalanceAt_latestSnapshot(){
+        //given
+        LocalDateTime at = LocalDateTime.of(2022, 6, 1, 12, 0);
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(5000L)
+                .accountStatus(IN_USE)
+                .build();
+        account.setId(1L);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findSnapshotAtOrBefore(eq(1L), eq(at), any()))
+                .willReturn(Collections.singletonList(Transaction.builder()
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(8000L)
+                        .transactionId("transactionId")
+                        .transactedAt(at.minusHours(1))
+                        .build()));
+
+        //when
+        PointInTimeBalance balance = transactionService.getBalanceAt("1000000000", at);
+
+        //then
+        assertEquals(8000L, balance.getBalance());
+        assertEquals("transactionId", balance.getTransactionId());
+        verify(transactionRepository, times(0)).findSnapshotAfter(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("시점 잔액 - at 이전 거래가 없으면 첫 거래 전 잔액")
+    void getBalanceAt_beforeFirstTransaction(){
+        //given
+        LocalDateTime at = LocalDateTime.of(2022, 6, 1, 12, 0);
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(5000L)
+                .accountStatus(IN_USE)
+                .build();
+        account.setId(1L);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findSnapshotAtOrBefore(eq(1L), eq(at), any()))
+                .willReturn(Collections.emptyList());
+        given(transactionRepository.findSnapshotAfter(eq(1L), eq(at), any()))
+                .willReturn(Collections.singletonList(Transaction.builder()
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(10000L - USE_AMOUNT)
+                        .transactionId("transactionId")
+                        .transactedAt(at.plusHours(1))
+                        .build()));
+
+        //when
+        PointInTimeBalance balance = transactionService.getBalanceAt("1000000000", at);
+
+        //then
+        assertEquals(10000L, balance.getBalance());
+    }
+
+    @Test
+    @DisplayName("시점 잔액 - 거래가 없으면 현재 잔액")
+    void getBalanceAt_noTransaction(){
+        //given
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(5000L)
+                .accountStatus(IN_USE)
+                .build();
+        account.setId(1L);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        //when
+        PointInTimeBalance balance = transactionService.getBalanceAt("1000000000", LocalDateTime.now());
+
+        //then
+        assertEquals(5000L, balance.getBalance());
+        assertNull(balance.getTransactionId());
+    }
+
+    @Test
+    @DisplayName("시점 잔액 - 실패 - 분할 잔액 계좌의 근사 스냅샷")
+    void getBalanceAtFail_shardedSnapshot(){
+        //given
+        LocalDateTime at = LocalDateTime.of(2022, 6, 1, 12, 0);
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(0L)
+                .accountStatus(IN_USE)
+                .shardCount(4)
+                .build();
+        account.setId(1L);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findSnapshotAtOrBefore(eq(1L), eq(at), any()))
+                .willReturn(Collections.singletonList(Transaction.builder()
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(8000L)
+                        .approximateSnapshot(true)
+                        .transactionId("transactionId")
+                        .transactedAt(at.minusHours(1))
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.getBalanceAt("1000000000", at));
+
+        //then
+        assertEquals(ErrorCode.BALANCE_SNAPSHOT_UNAVAILABLE, exception.getErrorCode());
+        verify(accountShardService, times(0)).getTotalBalance(any());
+    }
+
+    @Test
+    @DisplayName("시점 잔액 - 분할 전 시점은 분할 잔액 계좌도 정확한 스냅샷 사용")
+    void getBalanceAt_shardedAccountBeforeSharding(){
+        //given
+        LocalDateTime at = LocalDateTime.of(2022, 6, 1, 12, 0);
+        Account account = Account.builder()
+                .accountNumber("1000000000")
+                .balance(0L)
+                .accountStatus(IN_USE)
+                .shardCount(4)
+                .build();
+        account.setId(1L);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.findSnapshotAtOrBefore(eq(1L), eq(at), any()))
+                .willReturn(Collections.singletonList(Transaction.builder()
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(8000L)
+                        .approximateSnapshot(false)
+                        .transactionId("transactionId")
+                        .transactedAt(at.minusHours(1))
+                        .build()));
+
+        //when
+        PointInTimeBalance balance = transactionService.getBalanceAt("1000000000", at);
+
+        //then
+        assertEquals(8000L, balance.getBalance());
+        assertEquals("transactionId", balance.getTransactionId());
+    }
+
+    @Test
+    @DisplayName("시점 잔액 - 실패 - 계좌 개설 전 시점")
+    void getBalanceAtFail_beforeRegistered(){
+        //given
+        LocalDateTime registeredAt = LocalDateTime.of(2022, 6, 1, 12, 0);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountNumber("1000000000")
+                        .balance(5000L)
+                        .registeredAt(registeredAt)
+                        .build()));
+
+        //when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.getBalanceAt("1000000000", registeredAt.minusDays(1)));
+
+        //then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    // findAccountOwner 결과 : 요청한 사용자 id 와 (저장된) 계좌 정보
+    private static AccountOwnerDto owner(Long userId, Account account) {
+        return AccountOwnerDto.builder()
+                .userId(userId)
+                .accountId(1L)
+                .ownerId(account.getAccountUser().getId())
+                .accountStatus(account.getAccountStatus())
+                .balance(account.getBalance())
+                .heldAmount(account.getHeldAmount())
+                .shardCount(account.getShardCount())
+                .build();
+    }
+}